@@ -0,0 +1,48 @@
+package com.cityhall.dms.bench;
+
+import com.cityhall.dms.Employee;
+import com.cityhall.dms.EmployeeDataGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.bench.BenchmarkData.java
+ * Builds the same made-up employees every time (fixed seed, EmployeeDataGenerator) so benchmark runs can be
+ * compared with each other.  Emails end in the row number, so a keyword like "4242@" finds about one person.
+ */
+
+final class BenchmarkData {
+
+    static final long SEED = 20261018L;
+
+    private BenchmarkData() {
+    }
+
+    static List<Employee> employees(int count) {
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(SEED);
+        List<Employee> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(generator.next().to((first, last, email, dept, phone, office, hire) ->
+                    new Employee(null, first, last, email, dept, phone, office, hire)));
+        }
+        return list;
+    }
+
+    //The below writes the employees in the TXT import format, one per line
+    static byte[] txt(int count) {
+        StringWriter out = new StringWriter(count * 80);
+        try {
+            new EmployeeDataGenerator(SEED).writeTxt(out, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
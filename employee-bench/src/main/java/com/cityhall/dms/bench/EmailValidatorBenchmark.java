@@ -0,0 +1,79 @@
+package com.cityhall.dms.bench;
+
+import com.cityhall.dms.EmailValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.bench.EmailValidatorBenchmark.java
+ * Compares the old email.matches(".+@.+\\..+") check with EmailValidator.check on
+ * normal emails, bad emails, and long inputs with lots of @ and no dot (the worst case for the regex).
+ * Run it with: java -jar employee-bench/target/benchmarks.jar EmailValidatorBenchmark
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailValidatorBenchmark {
+
+    //The kind of input being checked
+    @Param({"valid", "invalid", "adversarial"})
+    public String input;
+
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        switch (input) {
+            case "valid" -> emails = new String[] {
+                    "jsmith@cityhall.gov",
+                    "maria.garcia@cityhall.gov",
+                    "d.o'connor@parks.cityhall.gov",
+                    "tran.nguyen42@public-works.cityhall.gov"
+            };
+            case "invalid" -> emails = new String[] {
+                    "jsmith.cityhall.gov",
+                    "@cityhall.gov",
+                    "maria@cityhallgov",
+                    "tran@."
+            };
+            default -> {
+                //Thousands of @ signs and no dot after them
+                String atSigns = "a@".repeat(5_000);
+                emails = new String[] {atSigns, atSigns + "b", "x" + atSigns};
+            }
+        }
+    }
+
+    //The old check, exactly as it used to be written in both EmployeeService classes
+    @Benchmark
+    public void regexMatches(Blackhole bh) {
+        for (String email : emails) {
+            bh.consume(email.matches(".+@.+\\..+"));
+        }
+    }
+
+    @Benchmark
+    public void singlePassCheck(Blackhole bh) {
+        for (String email : emails) {
+            bh.consume(EmailValidator.check(email));
+        }
+    }
+}
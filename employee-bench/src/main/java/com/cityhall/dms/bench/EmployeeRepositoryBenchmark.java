@@ -0,0 +1,74 @@
+package com.cityhall.dms.bench;
+
+import com.cityhall.dms.Employee;
+import com.cityhall.dms.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.bench.EmployeeRepositoryBenchmark.java
+ * Measures the console repository's lookups by ID and keyword searches at different sizes.
+ * Run it with: java -jar employee-bench/target/benchmarks.jar EmployeeRepositoryBenchmark
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EmployeeRepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    //A common last name, a department word, a rare email, and a 2 letter keyword (too short for the index)
+    @Param({"nguyen", "finance", "4242@", "ma"})
+    public String keyword;
+
+    private EmployeeRepository repo;
+    private int[] ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        repo = new EmployeeRepository();
+        for (Employee e : BenchmarkData.employees(rows)) {
+            repo.addEmployee(e);
+        }
+
+        //Random IDs to look up, picked ahead of time so the benchmark only measures the lookup
+        Random rnd = new Random(BenchmarkData.SEED);
+        ids = new int[4096];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1 + rnd.nextInt(rows);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Employee getEmployeeById() {
+        int id = ids[next++ & (ids.length - 1)];
+        return repo.getEmployeeById(id);
+    }
+
+    @Benchmark
+    public List<Employee> searchEmployees() {
+        return repo.searchEmployees(keyword);
+    }
+}
@@ -0,0 +1,74 @@
+package com.cityhall.dms.bench;
+
+import com.cityhall.dms.Employee;
+import com.cityhall.dms.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.bench.EmployeeServiceBenchmark.java
+ * Measures the console service's department count (the custom action) and its email check.
+ * Run it with: java -jar employee-bench/target/benchmarks.jar EmployeeServiceBenchmark
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EmployeeServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private EmployeeService service;
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        service = new EmployeeService();
+        List<Employee> employees = BenchmarkData.employees(rows);
+        for (Employee e : employees) {
+            service.addEmployee(e);
+        }
+
+        //A mix of good and bad emails to check
+        emails = new String[] {
+                employees.get(0).getEmail(),
+                employees.get(employees.size() - 1).getEmail(),
+                "jsmith.cityhall.com",
+                "jsmith@cityhall",
+                "@cityhall.com"
+        };
+    }
+
+    @Benchmark
+    public Map<String, Integer> countByDepartment() {
+        return service.countByDepartment();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void validateEmailFormat(Blackhole bh) {
+        for (String email : emails) {
+            bh.consume(service.validateEmailFormat(email));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.cityhall.dms.bench;
+
+import com.cityhall.dms.Employee;
+import com.cityhall.dms.EmployeeTxtParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.bench.EmployeeTxtParserBenchmark.java
+ * Measures how fast the TXT import parser (the code behind menu option 1 and the web upload) turns
+ * a file that is already in memory into Employee objects.
+ * Run it with: java -jar employee-bench/target/benchmarks.jar EmployeeTxtParserBenchmark
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EmployeeTxtParserBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int lines;
+
+    private final EmployeeTxtParser<Employee> parser = new EmployeeTxtParser<>(
+            (first, last, email, dept, phone, office, hire) ->
+                    new Employee(null, first, last, email, dept, phone, office, hire));
+
+    private ByteBuffer file;
+
+    @Setup
+    public void setUp() {
+        file = ByteBuffer.wrap(BenchmarkData.txt(lines));
+    }
+
+    @Benchmark
+    public EmployeeTxtParser.Result<Employee> parse() {
+        return parser.parse(file.duplicate());
+    }
+}
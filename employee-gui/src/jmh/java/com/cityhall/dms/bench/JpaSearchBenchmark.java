@@ -0,0 +1,183 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.bench.JpaSearchBenchmark.java
+ *
+ * JMH benchmark for the web app's employee search. It builds a SQLite database
+ * of 10k, 100k or 1M employees from EmployeeDataGenerator, starts the Spring
+ * context against it without the web server, and times both the plain
+ * JPA LIKE query (EmployeeRepository.searchEmployees) and the service search
+ * (which uses the FTS5 index). Generated databases are kept in target/bench-db
+ * so they only have to be built once.
+ *
+ * Run with: mvn -Pjmh compile exec:exec
+ */
+
+package com.cityhall.dms.bench;
+
+import com.cityhall.dms.Employee;
+import com.cityhall.dms.EmployeeDataGenerator;
+import com.cityhall.dms.EmployeeGuiApplication;
+import com.cityhall.dms.EmployeeRepository;
+import com.cityhall.dms.EmployeeService;
+import com.cityhall.dms.SchemaMigrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the employee search against generated SQLite databases of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class JpaSearchBenchmark {
+
+    /**
+     * Seed for the generated rows, so every run searches the same data.
+     */
+    private static final long SEED = 20261018L;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO employee (first_name, last_name, email, department, phone, office_location, hire_date, active)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * Number of employees in the database.
+     */
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * What to search for: a common last name (a few percent of rows) or one email (about 1 row).
+     */
+    @Param({"nguyen", "4242@"})
+    public String keyword;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository repository;
+    private EmployeeService service;
+
+    /**
+     * Builds the database (if it isn't already there) and starts Spring against it.
+     *
+     * @throws Exception if the database can't be created
+     */
+    @Setup
+    public void setUp() throws Exception {
+        Path db = Paths.get("target", "bench-db", "employees-" + rows + ".db").toAbsolutePath();
+        if (!Files.exists(db)) {
+            createDatabase(db, rows);
+        }
+
+        //devtools is on the runtime classpath; its restarter would start the app on a second thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        //Passed as command line arguments so they win over application.properties
+        context = new SpringApplicationBuilder(EmployeeGuiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:sqlite:" + db,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--dms.search.mode=fts",
+                        //Measure the queries themselves, not second-level cache hits
+                        "--dms.cache.enabled=false");
+        repository = context.getBean(EmployeeRepository.class);
+        service = context.getBean(EmployeeService.class);
+    }
+
+    /**
+     * Shuts the Spring context down after each trial.
+     */
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The JPQL LIKE query on its own (scans the whole table).
+     *
+     * @return the matching employees
+     */
+    @Benchmark
+    public List<Employee> jpqlLikeSearch() {
+        return repository.searchEmployees(keyword);
+    }
+
+    /**
+     * The search the web page uses (FTS5 trigram index for keywords of 3+ characters).
+     *
+     * @return the matching employees
+     */
+    @Benchmark
+    public List<Employee> serviceSearch() {
+        return service.searchEmployees(keyword);
+    }
+
+    /**
+     * Creates a database with the migration scripts (no sample employees) and fills it with generated
+     * rows in one transaction.  Also used by SqliteMixedWorkloadBenchmark.
+     *
+     * @param db the database file to create
+     * @param rows how many employees to insert
+     * @throws Exception if the database can't be written
+     */
+    static void createDatabase(Path db, int rows) throws Exception {
+        Files.createDirectories(db.getParent());
+        Path tmp = db.resolveSibling(db.getFileName() + ".tmp");
+        Files.deleteIfExists(tmp);
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + tmp)) {
+            new SchemaMigrator(new SingleConnectionDataSource(conn, true), false).migrate();
+            conn.setAutoCommit(false);
+            EmployeeDataGenerator generator = new EmployeeDataGenerator(SEED);
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+                for (int row = 1; row <= rows; row++) {
+                    EmployeeDataGenerator.Row r = generator.next();
+                    ps.setString(1, r.getFirstName());
+                    ps.setString(2, r.getLastName());
+                    ps.setString(3, r.getEmail());
+                    ps.setString(4, r.getDepartment());
+                    ps.setString(5, r.getPhone());
+                    ps.setString(6, r.getOfficeLocation());
+                    ps.setString(7, r.getHireDate().toString());
+                    ps.setInt(8, r.isActive() ? 1 : 0);
+                    ps.addBatch();
+                    if (row % 10_000 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            conn.commit();
+        }
+        Files.move(tmp, db);
+    }
+}
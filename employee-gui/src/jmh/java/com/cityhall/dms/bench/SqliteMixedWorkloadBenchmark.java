@@ -0,0 +1,193 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.bench.SqliteMixedWorkloadBenchmark.java
+ *
+ * JMH benchmark for reads and writes hitting SQLite at the same time, with the
+ * default connection settings and with the "prod" profile (WAL, synchronous=NORMAL,
+ * mmap, a read-only pool and a single write connection; see SqliteDataSourceConfig).
+ * Three threads load pages of employees while a fourth keeps deactivating and
+ * reactivating employees, and JMH reports the throughput of each side.  Writes or
+ * reads that fail because the database was locked are counted in "failedOps".
+ *
+ * Each trial runs on a fresh copy of the generated database, because WAL mode
+ * is stored in the database file and would carry over into the next trial.
+ *
+ * Run with: mvn -Pjmh compile exec:exec -Djmh.args="SqliteMixedWorkloadBenchmark"
+ */
+
+package com.cityhall.dms.bench;
+
+import com.cityhall.dms.Employee;
+import com.cityhall.dms.EmployeeGuiApplication;
+import com.cityhall.dms.EmployeeService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Slice;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times concurrent page loads and status changes with and without the SQLite tuning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class SqliteMixedWorkloadBenchmark {
+
+    /**
+     * Number of employees in the database.
+     */
+    @Param({"100000"})
+    public int rows;
+
+    /**
+     * "default" = application.properties as is, "prod" = the tuned SQLite profile.
+     */
+    @Param({"default", "prod"})
+    public String profile;
+
+    /**
+     * Employees per page, the same as the home page.
+     */
+    private static final int PAGE_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+    private Path trialDb;
+
+    /**
+     * Counts operations that failed (for example SQLITE_BUSY after the busy timeout)
+     * instead of letting one locked database end the whole run.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Failures {
+        public long failedOps;
+    }
+
+    /**
+     * Copies the generated database and starts Spring against the copy with the chosen profile.
+     *
+     * @throws Exception if the database can't be created or copied
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path db = Paths.get("target", "bench-db", "employees-" + rows + ".db").toAbsolutePath();
+        if (!Files.exists(db)) {
+            JpaSearchBenchmark.createDatabase(db, rows);
+        }
+        trialDb = db.resolveSibling("mixed-" + profile + "-" + rows + ".db");
+        deleteDatabase(trialDb);
+        Files.copy(db, trialDb, StandardCopyOption.REPLACE_EXISTING);
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:sqlite:" + trialDb,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                //Measure SQLite, not second-level cache hits
+                "--dms.cache.enabled=false"));
+        if ("prod".equals(profile)) {
+            args.add("--spring.profiles.active=prod");
+        }
+
+        //devtools is on the runtime classpath; its restarter would start the app on a second thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(EmployeeGuiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        service = context.getBean(EmployeeService.class);
+    }
+
+    /**
+     * Shuts Spring down and removes the trial's copy of the database.
+     *
+     * @throws Exception if the copy can't be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        deleteDatabase(trialDb);
+    }
+
+    /**
+     * A reader: loads one page of employees starting at a random ID (read-only transaction).
+     *
+     * @param failures this thread's failure counter
+     * @return the page, or null if the read failed
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Slice<Employee> readPage(Failures failures) {
+        try {
+            int after = ThreadLocalRandom.current().nextInt(rows);
+            return service.getEmployeePage(1, PAGE_SIZE, after, null);
+        } catch (DataAccessException ex) {
+            failures.failedOps++;
+            return null;
+        }
+    }
+
+    /**
+     * A writer: deactivates or reactivates one random employee (one UPDATE, committed).
+     *
+     * @param failures this thread's failure counter
+     * @return true if a row was changed
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean toggleActive(Failures failures) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int id = random.nextInt(rows) + 1;
+        try {
+            return random.nextBoolean() ? service.deactivateEmployee(id) : service.reactivateEmployee(id);
+        } catch (DataAccessException ex) {
+            failures.failedOps++;
+            return false;
+        }
+    }
+
+    /**
+     * Deletes a database file along with its WAL and shared-memory files.
+     *
+     * @param db the database file
+     * @throws Exception if a file can't be deleted
+     */
+    private static void deleteDatabase(Path db) throws Exception {
+        Files.deleteIfExists(db);
+        Files.deleteIfExists(db.resolveSibling(db.getFileName() + "-wal"));
+        Files.deleteIfExists(db.resolveSibling(db.getFileName() + "-shm"));
+    }
+}
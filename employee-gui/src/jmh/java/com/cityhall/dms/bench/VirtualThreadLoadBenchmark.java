@@ -0,0 +1,162 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.bench.VirtualThreadLoadBenchmark.java
+ *
+ * Load test for the web app with 500 users at once, each loading pages and
+ * search results over HTTP as fast as it can.  It compares Tomcat's normal pool
+ * of platform threads with the virtual-threads profile (a virtual thread per
+ * request, with SqliteAccessGuard in front of the database).  JMH's sample-time
+ * mode reports the latency percentiles; compare the p0.99 rows.
+ *
+ * The virtual run needs Java 21 or newer.
+ * Run with: mvn -Pjmh,java21 compile exec:exec -Djmh.args="VirtualThreadLoadBenchmark"
+ */
+
+package com.cityhall.dms.bench;
+
+import com.cityhall.dms.EmployeeGuiApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times page loads under 500 concurrent users on platform threads and on virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(500)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class VirtualThreadLoadBenchmark {
+
+    /**
+     * Number of employees in the database.
+     */
+    @Param({"100000"})
+    public int rows;
+
+    /**
+     * "platform" = Tomcat's thread pool, "virtual" = the virtual-threads profile.
+     */
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    /**
+     * What each user keeps requesting, in turn: the home page, a search, a later page.
+     */
+    private static final String[] PATHS = {"/", "/search?keyword=smith", "/?page=3", "/search?keyword=eng"};
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    /**
+     * One simulated user: remembers which page it asks for next.
+     */
+    @State(Scope.Thread)
+    public static class User {
+        int next;
+    }
+
+    /**
+     * Starts the web app on a free port against the generated database.
+     *
+     * @throws Exception if the database can't be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if ("virtual".equals(threading) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21 or newer; this JVM is "
+                    + Runtime.version());
+        }
+        Path db = Paths.get("target", "bench-db", "employees-" + rows + ".db").toAbsolutePath();
+        if (!Files.exists(db)) {
+            JpaSearchBenchmark.createDatabase(db, rows);
+        }
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:sqlite:" + db,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                //Measure the threads and SQLite, not second-level cache hits
+                "--dms.cache.enabled=false",
+                //The virtual-threads profile turns this off too; keep it the same on both sides
+                "--spring.jpa.open-in-view=false"));
+        if ("virtual".equals(threading)) {
+            args.add("--spring.profiles.active=virtual-threads");
+        }
+
+        //devtools is on the runtime classpath; its restarter would start the app on a second thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(EmployeeGuiApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args.toArray(new String[0]));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Stops the web app.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * One request from one user; fails the run if the app answers with an error.
+     *
+     * @param user the user making the request
+     * @return the HTTP status
+     * @throws Exception if the request fails
+     */
+    @Benchmark
+    public int browse(User user) throws Exception {
+        String path = PATHS[user.next++ % PATHS.length];
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(120))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned HTTP " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.CacheConfig.java
+ *
+ * This configuration turns on Hibernate's second-level cache using JCache with
+ * Caffeine underneath. Employees that were already loaded, and the results of
+ * the search and page queries, are kept in memory so repeat page views don't
+ * have to go back to SQLite. The size and time-to-live of each cache region
+ * come from the dms.cache.* settings in application.properties, and the whole
+ * thing can be switched off with dms.cache.enabled=false.
+ *
+ * Switching it off has to be said to Hibernate out loud: hibernate-jcache is
+ * still on the classpath, and left to itself Hibernate finds it and builds
+ * regions on the fly with no size limit or time-to-live.
+ */
+
+package com.cityhall.dms;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Sets up the cache regions and hands them to Hibernate, or tells Hibernate
+ * not to cache at all when dms.cache.enabled=false.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Region that holds Employee entities by ID.
+     */
+    public static final String EMPLOYEE_REGION = "employee";
+
+    /**
+     * Region that holds the ID lists returned by the search and page queries.
+     */
+    public static final String QUERY_REGION = "employee-queries";
+
+    /**
+     * Hibernate's own regions: the default query results, and the "last changed"
+     * time of each table that it uses to throw out stale query results.
+     */
+    static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Most employees kept in the cache at once.
+     */
+    @Value("${dms.cache.employee.max-entries:10000}")
+    private long employeeMaxEntries;
+
+    /**
+     * How long a cached employee is kept.
+     */
+    @Value("${dms.cache.employee.ttl:30m}")
+    private Duration employeeTtl;
+
+    /**
+     * Most query results kept in the cache at once.
+     */
+    @Value("${dms.cache.queries.max-entries:1000}")
+    private long queryMaxEntries;
+
+    /**
+     * How long a cached query result is kept.
+     */
+    @Value("${dms.cache.queries.ttl:5m}")
+    private Duration queryTtl;
+
+    /**
+     * Creates the JCache manager and all the regions Hibernate will use.
+     *
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "dms.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+
+        createRegion(cacheManager, EMPLOYEE_REGION, employeeMaxEntries, employeeTtl);
+        createRegion(cacheManager, QUERY_REGION, queryMaxEntries, queryTtl);
+        createRegion(cacheManager, DEFAULT_QUERY_REGION, queryMaxEntries, queryTtl);
+        //Never size-limit or expire the timestamps, or Hibernate could serve a stale query result
+        createRegion(cacheManager, TIMESTAMPS_REGION, 0, null);
+        return cacheManager;
+    }
+
+    /**
+     * Turns on the second-level and query caches and points Hibernate at our cache manager.
+     *
+     * @param hibernateCacheManager the cache manager created above
+     * @return the customizer that adds the Hibernate settings
+     */
+    @Bean
+    @ConditionalOnProperty(name = "dms.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", "true");
+            properties.put("hibernate.cache.use_query_cache", "true");
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            //Needed for the hit/miss numbers on /cache/stats
+            properties.put("hibernate.generate_statistics", "true");
+        };
+    }
+
+    /**
+     * Turns the second-level and query caches off (dms.cache.enabled=false), so
+     * Hibernate doesn't pick up the JCache region factory from the classpath.
+     *
+     * @return the customizer that adds the Hibernate settings
+     */
+    @Bean
+    @ConditionalOnProperty(name = "dms.cache.enabled", havingValue = "false")
+    public HibernatePropertiesCustomizer hibernateNoCacheCustomizer() {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", "false");
+            properties.put("hibernate.cache.use_query_cache", "false");
+        };
+    }
+
+    /**
+     * Creates (or re-creates) one cache region.
+     *
+     * @param cacheManager the cache manager to create it in
+     * @param name the region name
+     * @param maxEntries the most entries to keep, or 0 for no limit
+     * @param ttl how long to keep each entry, or null to keep it until it is evicted
+     */
+    private static void createRegion(CacheManager cacheManager, String name, long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(maxEntries > 0 ? OptionalLong.of(maxEntries) : OptionalLong.empty());
+        config.setExpireAfterWrite(ttl != null ? OptionalLong.of(ttl.toNanos()) : OptionalLong.empty());
+        config.setStatisticsEnabled(true);
+
+        //The default cache manager is shared by the whole JVM, so a region may be left over from an earlier context
+        if (cacheManager.getCache(name) != null) {
+            cacheManager.destroyCache(name);
+        }
+        cacheManager.createCache(name, config);
+    }
+}
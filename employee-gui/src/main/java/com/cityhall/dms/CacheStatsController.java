@@ -0,0 +1,38 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.CacheStatsController.java
+ *
+ * This controller shows how well the second-level cache is doing (hits,
+ * misses, puts and entries per region) as JSON, so we can check that the
+ * cache is actually saving trips to the database.
+ */
+
+package com.cityhall.dms;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Exposes the cache statistics at /cache/stats.
+ */
+@RestController
+public class CacheStatsController {
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    /**
+     * Returns the current cache statistics.
+     *
+     * @return hit/miss/put counts for each cache region
+     */
+    @GetMapping("/cache/stats")
+    public Map<String, Object> cacheStats() {
+        return employeeCache.getStatistics();
+    }
+}
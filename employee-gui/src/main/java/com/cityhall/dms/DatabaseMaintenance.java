@@ -0,0 +1,49 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.DatabaseMaintenance.java
+ *
+ * Housekeeping that runs in the background after big changes to the database,
+ * so the request that caused them doesn't wait for it.  Runs on Spring's
+ * application task executor (@Async), which is a virtual thread per task when
+ * virtual threads are on and a small thread pool otherwise.
+ */
+
+package com.cityhall.dms;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background database upkeep.
+ */
+@Service
+public class DatabaseMaintenance {
+
+    /**
+     * Used to run the PRAGMA.
+     */
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    /**
+     * Runs SQLite's PRAGMA optimize, which refreshes the statistics the query
+     * planner uses to choose between the employee indexes.  Worth doing after an
+     * import has added many rows; cheap when nothing has changed much.
+     */
+    @Async
+    public void optimizeAfterImport() {
+        try {
+            long start = System.nanoTime();
+            jdbc.execute("PRAGMA optimize");
+            System.out.println("PRAGMA optimize finished in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (DataAccessException ex) {
+            //Only housekeeping; the import itself already succeeded
+            System.out.println("Error: PRAGMA optimize failed: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.DepartmentCount.java
+ *
+ * One row of the department_count summary table (V3__department_counts.sql): a
+ * department and how many employees, and how many active employees, it has.
+ */
+
+package com.cityhall.dms;
+
+/**
+ * Read-only projection of the running department counts.
+ */
+public interface DepartmentCount {
+
+    /**
+     * Gets the department name (blank departments show up as "(Unknown)").
+     *
+     * @return the department
+     */
+    String getDepartment();
+
+    /**
+     * Gets the number of employees in the department.
+     *
+     * @return the employee count
+     */
+    long getEmployees();
+
+    /**
+     * Gets the number of active employees in the department.
+     *
+     * @return the active employee count
+     */
+    long getActiveEmployees();
+}
@@ -15,15 +15,22 @@ import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.format.annotation.DateTimeFormat;
 
 /**
  * The below class represents a single city employee
  * in the directory, including contact information,
  * department, and employment status.
+ *
+ * Loaded employees are kept in the "employee" second-level cache region
+ * (see CacheConfig) so repeat lookups don't have to go back to SQLite.
  */
 @Entity
 @Table(name = "employee")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.EMPLOYEE_REGION)
 public class Employee {
 
     /**
@@ -72,8 +79,10 @@ public class Employee {
     /**
      * Indicates whether the employee is active in the system.
      * Used for soft deletes (true = active, false = inactive).
+     * The column's DEFAULT 1 is in V1__create_employee.sql; this only names the type,
+     * so ddl-auto=validate can match it.
      */
-    @Column(columnDefinition = "INTEGER DEFAULT 1")
+    @Column(columnDefinition = "INTEGER")
     private boolean active = true;
 
     /**
@@ -0,0 +1,349 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeApiController.java
+ *
+ * This controller is the JSON version of the employee pages, for other
+ * programs to use.  Everything lives under /api/employees and goes through
+ * the same EmployeeService as the web pages, but sends and receives
+ * EmployeeDto records instead of entities.
+ *
+ * Pages, searches and single employees come with an ETag (a hash of the JSON).
+ * A client that sends it back in If-None-Match gets an empty 304 Not Modified
+ * when nothing changed, so polling the directory doesn't download it again.
+ * The whole directory can be read from /api/employees/stream as NDJSON (one
+ * employee per line), which is written while the rows are read from SQLite.
+ */
+
+package com.cityhall.dms;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST endpoints for listing, searching, creating, changing and deleting employees.
+ */
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeApiController {
+
+    /**
+     * Page size used when the client doesn't ask for one.
+     */
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EmployeeStreamService streamService;
+
+    /**
+     * Spring's JSON mapper, so dates and DTOs come out the same as in every other response.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * How many NDJSON lines are written between flushes of the stream (values below 1 count as 1).
+     */
+    @Value("${dms.stream.flush-lines:500}")
+    private int flushEvery;
+
+    /**
+     * Lists one page of employees in ID order.  Pass the "nextAfter" value from
+     * one page as "after" to get the next one.
+     *
+     * @param size how many employees per page (at most EmployeeService.MAX_PAGE_SIZE)
+     * @param after the last ID of the previous page, or null for the first page
+     * @param request used to check If-None-Match
+     * @return the page as JSON, or 304 if the client's copy is still current
+     * @throws JsonProcessingException if the page can't be turned into JSON
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> listEmployees(@RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                @RequestParam(required = false) Integer after,
+                                                WebRequest request) throws JsonProcessingException {
+        return conditionalJson(pageBody(service.getEmployeePage(0, size, after, null)), request);
+    }
+
+    /**
+     * Searches employees by name, department, email or ID, one page at a time.
+     *
+     * @param keyword the text to search for (blank lists everyone)
+     * @param size how many employees per page
+     * @param after the last ID of the previous page, or null for the first page
+     * @param request used to check If-None-Match
+     * @return the matching page as JSON, or 304 if the client's copy is still current
+     * @throws JsonProcessingException if the page can't be turned into JSON
+     */
+    @GetMapping("/search")
+    public ResponseEntity<byte[]> searchEmployees(@RequestParam(defaultValue = "") String keyword,
+                                                  @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                  @RequestParam(required = false) Integer after,
+                                                  WebRequest request) throws JsonProcessingException {
+        return conditionalJson(pageBody(service.searchEmployeePage(keyword, 0, size, after, null)), request);
+    }
+
+    /**
+     * Gets one employee.
+     *
+     * @param id the employee's ID
+     * @param request used to check If-None-Match
+     * @return the employee, 304 if the client's copy is still current, or 404
+     * @throws JsonProcessingException if the employee can't be turned into JSON
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<byte[]> getEmployee(@PathVariable int id, WebRequest request)
+            throws JsonProcessingException {
+        Employee employee = service.getEmployeeById(id);
+        if (employee == null) return ResponseEntity.notFound().build();
+        return conditionalJson(EmployeeDto.from(employee), request);
+    }
+
+    /**
+     * Streams every employee (or one department) as NDJSON, one JSON object per
+     * line.  Lines are written as the rows come out of the database cursor and
+     * flushed every flushEvery lines, so the client starts getting data at once
+     * and the server never holds the whole list.
+     *
+     * @param department only stream this department (optional)
+     * @return the response body, written after this method returns
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestParam(required = false) String department) {
+        //Flushing is done by hand every flushEvery lines, not after every row
+        ObjectWriter writer = objectMapper.writerFor(EmployeeDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                //Jackson puts a space between top-level values; the lines are separated by "\n" below instead
+                json.setRootValueSeparator(null);
+                long[] lines = new long[1];
+                int linesPerFlush = Math.max(1, flushEvery);
+                streamService.streamEmployees(department, employee -> {
+                    writer.writeValue(json, employee);
+                    json.writeRaw('\n');
+                    if (++lines[0] % linesPerFlush == 0) json.flush();
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Adds a new employee.
+     *
+     * @param dto the new employee (any id in it is ignored)
+     * @return 201 with the saved employee and its URL, 400 if the data is invalid,
+     *         or 409 if another employee already uses the email
+     */
+    @PostMapping
+    public ResponseEntity<Object> createEmployee(@RequestBody EmployeeDto dto) {
+        Employee employee = dto.toEmployee(null, true);
+        if (!service.isValidEmployee(employee)) return invalid(employee);
+
+        Employee saved = service.addEmployee(employee);
+        if (saved == null) return error(HttpStatus.CONFLICT, "Another employee already uses that email.");
+        return ResponseEntity.created(URI.create("/api/employees/" + saved.getId()))
+                .body(EmployeeDto.from(saved));
+    }
+
+    /**
+     * Replaces an employee's information.
+     *
+     * @param id the employee's ID (the id in the body is ignored)
+     * @param dto the employee's new information (leaving out "active" keeps the current status)
+     * @return the updated employee, 400 if the data is invalid, 404 if there is no
+     *         such employee, or 409 if another employee already uses the email
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Object> updateEmployee(@PathVariable int id, @RequestBody EmployeeDto dto) {
+        //Leaving "active" out keeps the employee's current status instead of switching them back on
+        boolean activeIfMissing = true;
+        if (dto.active() == null) {
+            Employee current = service.getEmployeeById(id);
+            if (current == null) return ResponseEntity.notFound().build();
+            activeIfMissing = current.isActive();
+        }
+        Employee employee = dto.toEmployee(id, activeIfMissing);
+        if (!service.isValidEmployee(employee)) return invalid(employee);
+
+        Employee updated = service.updateEmployee(employee);
+        if (updated == null) {
+            //The update failed for one of two reasons; only look up which one when it did
+            return service.getEmployeeById(id) == null
+                    ? ResponseEntity.notFound().build()
+                    : error(HttpStatus.CONFLICT, "Another employee already uses that email.");
+        }
+        return ResponseEntity.ok(EmployeeDto.from(updated));
+    }
+
+    /**
+     * Deletes an employee.
+     *
+     * @param id the employee's ID
+     * @return 204 if the employee was deleted, or 404 if there is no such employee
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteEmployee(@PathVariable int id) {
+        return service.deleteEmployee(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Marks the listed employees as active, in one transaction.
+     *
+     * @param ids a JSON array of employee IDs
+     * @return how many IDs were sent and how many employees changed
+     */
+    @PostMapping("/bulk/activate")
+    public Map<String, Object> activateEmployees(@RequestBody List<Integer> ids) {
+        return bulkResult("activate", ids, service.reactivateEmployees(ids));
+    }
+
+    /**
+     * Marks the listed employees as inactive, in one transaction.
+     *
+     * @param ids a JSON array of employee IDs
+     * @return how many IDs were sent and how many employees changed
+     */
+    @PostMapping("/bulk/deactivate")
+    public Map<String, Object> deactivateEmployees(@RequestBody List<Integer> ids) {
+        return bulkResult("deactivate", ids, service.deactivateEmployees(ids));
+    }
+
+    /**
+     * Deletes the listed employees, in one transaction (all of them or none).
+     *
+     * @param ids a JSON array of employee IDs
+     * @return how many IDs were sent and how many employees were deleted
+     */
+    @PostMapping("/bulk/delete")
+    public Map<String, Object> deleteEmployees(@RequestBody List<Integer> ids) {
+        return bulkResult("delete", ids, service.deleteEmployees(ids));
+    }
+
+    /**
+     * Turns a page of employees into the JSON body for the list and search endpoints.
+     *
+     * @param page the page from EmployeeService
+     * @return the employees, whether there are more, and the "after" value for the next page
+     */
+    private Map<String, Object> pageBody(Slice<Employee> page) {
+        List<EmployeeDto> employees = page.getContent().stream().map(EmployeeDto::from).toList();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("employees", employees);
+        body.put("size", page.getSize());
+        body.put("hasNext", page.hasNext());
+        body.put("nextAfter", page.hasNext() ? employees.get(employees.size() - 1).id() : null);
+        return body;
+    }
+
+    /**
+     * Writes a response body as JSON with an ETag made from its bytes.  If the
+     * client already has that ETag, the body is left out and 304 is returned.
+     * "no-cache" tells clients they may keep the response but have to check it
+     * with If-None-Match before using it again.
+     *
+     * @param body the object to send
+     * @param request the current request (its If-None-Match header is checked)
+     * @return 200 with the JSON, or 304 with no body
+     * @throws JsonProcessingException if the body can't be turned into JSON
+     */
+    private ResponseEntity<byte[]> conditionalJson(Object body, WebRequest request)
+            throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        String etag = etag(json);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
+
+    /**
+     * Makes a strong ETag from the bytes of a response.
+     *
+     * @param json the response body
+     * @return the quoted MD5 of the body
+     */
+    static String etag(byte[] json) {
+        return "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+
+    /**
+     * Builds the 400 response for an employee that failed validation, saying what is wrong.
+     *
+     * @param employee the employee that failed EmployeeService.isValidEmployee
+     * @return a 400 response with an error message
+     */
+    private ResponseEntity<Object> invalid(Employee employee) {
+        EmailValidator.Result email = service.checkEmail(employee.getEmail());
+        String message = email.isValid()
+                ? "First name, last name and department are required."
+                : email.getMessage();
+        return error(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /**
+     * Builds an error response with a JSON {"error": message} body.
+     *
+     * @param status the HTTP status to send
+     * @param message the message for the client
+     * @return the response
+     */
+    private ResponseEntity<Object> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("error", message));
+    }
+
+    /**
+     * Builds the response for a bulk action.
+     *
+     * @param action the action that was done
+     * @param ids the IDs that were sent
+     * @param changed how many employees were changed
+     * @return the summary as a map
+     */
+    private Map<String, Object> bulkResult(String action, List<Integer> ids, int changed) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", action);
+        result.put("requested", ids == null ? 0 : ids.size());
+        result.put("changed", changed);
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeCache.java
+ *
+ * This component is the one place the rest of the app talks to the Hibernate
+ * second-level cache. Writes Hibernate doesn't track (the JDBC batch import
+ * and the single-employee native UPDATE/DELETE statements) use it to throw out
+ * the cached data they made stale, and it collects the hit/miss numbers shown
+ * on /cache/stats.
+ */
+
+package com.cityhall.dms;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Evicts cached employees and query results, and reports cache statistics.
+ * When the cache is switched off (dms.cache.enabled=false) evicting does
+ * nothing and every count is zero.
+ */
+@Component
+public class EmployeeCache {
+
+    /**
+     * The JPA entity manager factory (Hibernate's SessionFactory underneath).
+     */
+    @Autowired
+    private EntityManagerFactory emf;
+
+    /**
+     * Removes one employee from the entity cache, along with every cached
+     * search and page result (any of them could include the employee).  Used
+     * after a write to one row that Hibernate didn't see, so the next read goes
+     * back to the database while the other cached employees stay.
+     *
+     * @param id the ID of the employee that changed
+     */
+    public void evictEmployee(int id) {
+        emf.getCache().evict(Employee.class, id);
+        evictQueryResults();
+    }
+
+    /**
+     * Throws out every cached search and page result, but keeps the cached
+     * employees.  Used after rows are added outside of Hibernate, since new
+     * rows can change any query's result but don't touch existing employees.
+     */
+    public void evictQueryResults() {
+        emf.getCache().unwrap(org.hibernate.Cache.class).evictQueryRegions();
+    }
+
+    /**
+     * Collects hit, miss and put counts for the employee and query regions.
+     *
+     * @return whether the cache and the statistics are on, then one entry per
+     *         region plus the query cache totals
+     */
+    public Map<String, Object> getStatistics() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cacheEnabled", emf.unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        result.put("statisticsEnabled", stats.isStatisticsEnabled());
+        result.put(CacheConfig.EMPLOYEE_REGION, regionStatistics(stats, CacheConfig.EMPLOYEE_REGION));
+        result.put(CacheConfig.QUERY_REGION, regionStatistics(stats, CacheConfig.QUERY_REGION));
+
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("hits", stats.getQueryCacheHitCount());
+        queries.put("misses", stats.getQueryCacheMissCount());
+        queries.put("puts", stats.getQueryCachePutCount());
+        queries.put("executions", stats.getQueryExecutionCount());
+        result.put("queryCache", queries);
+        return result;
+    }
+
+    /**
+     * Reads the counters for one region.
+     *
+     * @param stats Hibernate's statistics
+     * @param region the region name
+     * @return hits, misses, puts and the number of entries in memory
+     */
+    private static Map<String, Object> regionStatistics(Statistics stats, String region) {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        CacheRegionStatistics regionStats = stats.isStatisticsEnabled()
+                ? stats.getCacheRegionStatistics(region) : null;
+        if (regionStats == null) {
+            return counts;
+        }
+        counts.put("hits", regionStats.getHitCount());
+        counts.put("misses", regionStats.getMissCount());
+        counts.put("puts", regionStats.getPutCount());
+        counts.put("entries", regionStats.getElementCountInMemory());
+        return counts;
+    }
+}
@@ -17,16 +17,21 @@
 package com.cityhall.dms;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -39,34 +44,81 @@ public class EmployeeController {
     @Autowired
     private EmployeeService service;
 
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private EmployeeStreamService streamService;
+
     /**
-     * Displays the home page containing a list of all employees.
+     * How many employees are shown on one page when the request doesn't say.
+     */
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    /**
+     * Displays the home page containing one page of employees.  The "after" and
+     * "before" parameters are the IDs at the edges of the page the user is coming
+     * from (keyset paging), so deep pages load as fast as the first one.
      *
+     * @param page the page number being shown (starting at 0)
+     * @param size how many employees to show per page
+     * @param after the last ID on the previous page when moving forward
+     * @param before the first ID on the next page when moving back
      * @param model the model to pass data to the view
      * @return the employees.html template
      */
     @GetMapping("/")
-    public String listEmployees(Model model) {
-        model.addAttribute("employees", service.getAllEmployees());
+    public String listEmployees(@RequestParam(defaultValue = "0") int page,
+                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                @RequestParam(required = false) Integer after,
+                                @RequestParam(required = false) Integer before,
+                                Model model) {
+        addPage(model, service.getEmployeePage(page, size, after, before), "/");
         return "employees";
     }
 
     /**
      * Searches for employees by a given keyword.  Matches are based
-     * on name, department, or email.
+     * on name, department, or email.  Results are paged the same way as the home page.
      *
      * @param keyword the text to search for
+     * @param page the page number being shown (starting at 0)
+     * @param size how many employees to show per page
+     * @param after the last ID on the previous page when moving forward
+     * @param before the first ID on the next page when moving back
      * @param model the model used to pass search results to the view
      * @return the employees.html template with filtered results
      */
     @GetMapping("/search")
-    public String searchEmployees(@RequestParam("keyword") String keyword, Model model) {
-        List<Employee> results = service.searchEmployees(keyword);
-        model.addAttribute("employees", results);
+    public String searchEmployees(@RequestParam("keyword") String keyword,
+                                  @RequestParam(defaultValue = "0") int page,
+                                  @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                  @RequestParam(required = false) Integer after,
+                                  @RequestParam(required = false) Integer before,
+                                  Model model) {
+        String pageBase = UriComponentsBuilder.fromPath("/search").queryParam("keyword", keyword).encode().toUriString();
+        addPage(model, service.searchEmployeePage(keyword, page, size, after, before), pageBase);
         model.addAttribute("keyword", keyword);
         return "employees";
     }
 
+    /**
+     * Puts one page of employees into the model along with what the template
+     * needs to build the Previous/Next links.
+     *
+     * @param model the model used by employees.html
+     * @param slice the page of employees to show
+     * @param pageBase the URL the page links point at (including the search keyword, if any)
+     */
+    private void addPage(Model model, Slice<Employee> slice, String pageBase) {
+        List<Employee> rows = slice.getContent();
+        model.addAttribute("employees", rows);
+        model.addAttribute("page", slice);
+        model.addAttribute("pageBase", pageBase);
+        model.addAttribute("firstId", rows.isEmpty() ? null : rows.get(0).getId());
+        model.addAttribute("lastId", rows.isEmpty() ? null : rows.get(rows.size() - 1).getId());
+    }
+
     /**
      * Shows the form for adding a new employee.
      *
@@ -135,23 +187,88 @@ public class EmployeeController {
         return "redirect:/";
     }
 
+    /**
+     * Marks every employee checked in the table as active again.
+     *
+     * @param ids the IDs of the checked employees
+     * @param returnTo the page (and search) the user was on, so they land back there
+     * @param redirect used to show how many employees were changed
+     * @return a redirect back to the page the user came from
+     */
+    @PostMapping("/bulk/activate")
+    public String activateEmployees(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                                    @RequestParam(required = false) String returnTo,
+                                    RedirectAttributes redirect) {
+        int changed = service.reactivateEmployees(ids);
+        redirect.addFlashAttribute("bulkResult", "Activated " + changed + " employee(s).");
+        return redirectBack(returnTo);
+    }
+
+    /**
+     * Marks every employee checked in the table as inactive.
+     *
+     * @param ids the IDs of the checked employees
+     * @param returnTo the page (and search) the user was on, so they land back there
+     * @param redirect used to show how many employees were changed
+     * @return a redirect back to the page the user came from
+     */
+    @PostMapping("/bulk/deactivate")
+    public String deactivateEmployees(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                                      @RequestParam(required = false) String returnTo,
+                                      RedirectAttributes redirect) {
+        int changed = service.deactivateEmployees(ids);
+        redirect.addFlashAttribute("bulkResult", "Deactivated " + changed + " employee(s).");
+        return redirectBack(returnTo);
+    }
+
+    /**
+     * Deletes every employee checked in the table.
+     *
+     * @param ids the IDs of the checked employees
+     * @param returnTo the page (and search) the user was on, so they land back there
+     * @param redirect used to show how many employees were deleted
+     * @return a redirect back to the page the user came from
+     */
+    @PostMapping("/bulk/delete")
+    public String deleteEmployees(@RequestParam(name = "ids", required = false) List<Integer> ids,
+                                  @RequestParam(required = false) String returnTo,
+                                  RedirectAttributes redirect) {
+        int deleted = service.deleteEmployees(ids);
+        redirect.addFlashAttribute("bulkResult", "Deleted " + deleted + " employee(s).");
+        return redirectBack(returnTo);
+    }
+
+    /**
+     * Builds the redirect after a bulk action.  Only paths inside this app are
+     * allowed, so the form can't be used to send someone to another site.
+     *
+     * @param returnTo the path the user was on (may be null)
+     * @return a redirect to that path, or to the home page
+     */
+    private String redirectBack(String returnTo) {
+        if (returnTo == null || !returnTo.startsWith("/") || returnTo.startsWith("//") || returnTo.contains("\\")) {
+            return "redirect:/";
+        }
+        return "redirect:" + returnTo;
+    }
+
     /**
      * Imports employee data from a text file.  Each line in the file must be in
      * comma-separated format and will be converted into a new Employee record.
+     * Rows are validated and written in batches by EmployeeImportService, and a
+     * summary of the import is shown on the home page afterwards.
      *
      * @param file the uploaded text file containing employee data
+     * @param redirect used to pass the import summary to the home page
      * @return a redirect back to the home page
      */
     @PostMapping("/upload")
-    public String uploadEmployees(@RequestParam("file") MultipartFile file) {
+    public String uploadEmployees(@RequestParam("file") MultipartFile file, RedirectAttributes redirect) {
         if (file.isEmpty()) return "redirect:/";
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                Employee e = parseEmployeeTxt(line);
-                if (e != null) service.addEmployee(e);
-            }
+        try (InputStream in = file.getInputStream()) {
+            ImportResult result = importService.importEmployees(in);
+            redirect.addFlashAttribute("importResult", result);
         } catch (IOException ex) {
             ex.printStackTrace();
         }
@@ -160,26 +277,40 @@ public class EmployeeController {
     }
 
     /**
-     * Converts a comma-separated text line into an Employee object.
-     * Expected format:
-     * firstName,lastName,email,department,phone,officeLocation,hireDate
+     * Downloads the whole directory (or one department) as CSV, NDJSON or SQL
+     * INSERT statements, optionally gzipped.  Rows go from a database cursor
+     * (EmployeeStreamService) through EmployeeExporter straight into the
+     * response, so the server's memory use is the same for 20 employees or
+     * 2 million.
      *
-     * @param line one line of text from the uploaded file
-     * @return an Employee object, or null if the format is invalid
+     * @param format csv, ndjson or sql
+     * @param gzip true to compress the file with gzip
+     * @param department only export this department (optional)
+     * @return the file as an attachment, or 400 if the format is unknown
      */
-    private Employee parseEmployeeTxt(String line) {
-        String[] parts = line.split(",", -1);
-        if (parts.length < 7) return null;
-
-        Employee e = new Employee();
-        e.setFirstName(parts[0].trim());
-        e.setLastName(parts[1].trim());
-        e.setEmail(parts[2].trim());
-        e.setDepartment(parts[3].trim());
-        e.setPhone(parts[4].trim());
-        e.setOfficeLocation(parts[5].trim());
-        e.setHireDate(LocalDate.parse(parts[6].trim(), DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        e.setActive(true); //Default new employees to active
-        return e;
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "csv") String format,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip,
+                                                                 @RequestParam(required = false) String department) {
+        EmployeeExporter.Format exportFormat = EmployeeExporter.Format.fromName(format);
+        if (exportFormat == null) return ResponseEntity.badRequest().build();
+
+        StreamingResponseBody body = out -> {
+            //finish() rather than close(): the servlet container closes the response itself
+            EmployeeExporter exporter = new EmployeeExporter(out, exportFormat, gzip);
+            streamService.streamEmployees(department, e -> exporter.write(e.id(), e.firstName(), e.lastName(),
+                    e.email(), e.department(), e.phone(), e.officeLocation(), e.hireDate(), e.active()));
+            exporter.finish();
+        };
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType(EmployeeExporter.GZIP_CONTENT_TYPE)
+                : MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8");
+        ContentDisposition attachment = ContentDisposition.attachment()
+                .filename(EmployeeExporter.fileName("employees", exportFormat, gzip))
+                .build();
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                .body(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeDto.java
+ *
+ * This record is the shape of an employee in the JSON API (/api/employees).
+ * The API reads and writes these instead of the Employee entity, so clients
+ * never see Hibernate's proxies or cache details, and changing the entity
+ * doesn't quietly change the API.
+ */
+
+package com.cityhall.dms;
+
+import java.time.LocalDate;
+
+/**
+ * One employee as the REST API sends and receives it.
+ *
+ * @param id the employee's ID (ignored when creating or updating; the URL or database decides it)
+ * @param firstName the employee's first name
+ * @param lastName the employee's last name
+ * @param email the employee's work email address
+ * @param department the department where the employee works
+ * @param phone the employee's phone number
+ * @param officeLocation the employee's office location
+ * @param hireDate the date the employee was hired (yyyy-MM-dd in JSON)
+ * @param active whether the employee is active; a new employee that leaves it out is active, and an update
+ *               that leaves it out keeps the employee's current status
+ */
+public record EmployeeDto(Integer id, String firstName, String lastName, String email, String department,
+                          String phone, String officeLocation, LocalDate hireDate, Boolean active) {
+
+    /**
+     * Copies an entity into a DTO.
+     *
+     * @param employee the employee entity
+     * @return the DTO with the same values
+     */
+    public static EmployeeDto from(Employee employee) {
+        return new EmployeeDto(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getDepartment(), employee.getPhone(),
+                employee.getOfficeLocation(), employee.getHireDate(), employee.isActive());
+    }
+
+    /**
+     * Builds an entity from this DTO so it can be handed to EmployeeService.
+     *
+     * @param id the ID the entity should have (null for a new employee)
+     * @param activeIfMissing the active flag to use when this DTO doesn't have one
+     *                        (true for a new employee, the current value for an update)
+     * @return a new, unsaved Employee with this DTO's values
+     */
+    public Employee toEmployee(Integer id, boolean activeIfMissing) {
+        Employee employee = new Employee(id, firstName, lastName, email, department, phone,
+                officeLocation, hireDate);
+        employee.setActive(active == null ? activeIfMissing : active);
+        return employee;
+    }
+}
@@ -7,6 +7,9 @@
  * This is the main entry point for the Employee Directory Management System.
  * It starts the Spring Boot application and initializes component scanning,
  * entity scanning, and repository detection in the com.cityhall.dms package.
+ * @EnableAsync lets services hand work to a background thread (DatabaseMaintenance).
+ * EmployeeRuntimeHints lists what a GraalVM native image of the app needs
+ * (see the native profile in pom.xml).
  */
 
 package com.cityhall.dms;
@@ -14,6 +17,8 @@ package com.cityhall.dms;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 
@@ -25,6 +30,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.cityhall.dms")
 @EntityScan(basePackages = "com.cityhall.dms")
+@ImportRuntimeHints(EmployeeRuntimeHints.class)
+@EnableAsync
 public class EmployeeGuiApplication {
 
     /**
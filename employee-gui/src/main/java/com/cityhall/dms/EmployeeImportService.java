@@ -0,0 +1,172 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeImportService.java
+ *
+ * This service handles bulk imports of employee text files. Instead of saving
+ * one employee at a time through JPA (one INSERT and one transaction per line),
+ * it reads the file in chunks, validates each chunk, and writes it with a single
+ * JDBC batch insert inside its own transaction. The lines themselves are parsed
+ * by EmployeeTxtParser, the same parser the console app uses.
+ */
+
+package com.cityhall.dms;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service responsible for importing large employee files in bounded,
+ * batched transactions.
+ */
+@Service
+public class EmployeeImportService {
+
+    /**
+     * The INSERT used for every row in a batch.  Matches the columns in V1__create_employee.sql.
+     * A row whose email is already taken (the unique lower(email) index) is skipped
+     * instead of failing the whole batch, and counted as rejected.
+     */
+    private static final String INSERT_SQL = """
+            INSERT INTO employee (first_name, last_name, email, department, phone, office_location, hire_date, active)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    /**
+     * Date format used by the text files (and by the hire_date column).
+     */
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    /**
+     * Shared TXT parser, set up to build JPA Employee objects.
+     */
+    private final EmployeeTxtParser<Employee> txtParser = new EmployeeTxtParser<>(
+            (first, last, email, dept, phone, office, hire) ->
+                    new Employee(null, first, last, email, dept, phone, office, hire));
+
+    /**
+     * Used to run the batch inserts.
+     */
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    /**
+     * Wraps each chunk in its own transaction.
+     */
+    @Autowired
+    private TransactionTemplate tx;
+
+    /**
+     * Used to validate employees the same way the Add form does.
+     */
+    @Autowired
+    private EmployeeService service;
+
+    /**
+     * The batch inserts go around Hibernate, so cached query results have to be
+     * thrown out by hand afterwards.
+     */
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    /**
+     * Refreshes SQLite's planner statistics in the background after an import.
+     */
+    @Autowired
+    private DatabaseMaintenance maintenance;
+
+    /**
+     * How many rows are written per batch (and per transaction).
+     */
+    @Value("${dms.import.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Reads every line from the stream and imports the valid ones.  The parser
+     * hands over the file a block at a time, and each chunk of batchSize rows
+     * is committed on its own, so a huge file never holds one giant transaction
+     * open and memory stays bounded.
+     *
+     * @param in the text file, one employee per line
+     * @return a summary of how many rows were accepted and rejected
+     * @throws IOException if the file can't be read
+     */
+    public ImportResult importEmployees(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        int[] accepted = {0};
+        int[] rejected = {0};
+
+        //0 or less would never fill a batch (one giant transaction) or fail to make the list, so use at least 1
+        int rowsPerBatch = Math.max(1, batchSize);
+        List<Employee> chunk = new ArrayList<>(rowsPerBatch);
+        txtParser.parse(in, block -> {
+            rejected[0] += block.getErrors().size();
+            for (Employee e : block.getEmployees()) {
+                if (!service.isValidEmployee(e)) {
+                    rejected[0]++;
+                    continue;
+                }
+                chunk.add(e);
+                if (chunk.size() == rowsPerBatch) {
+                    int inserted = insertChunk(chunk);
+                    accepted[0] += inserted;
+                    rejected[0] += chunk.size() - inserted;
+                    chunk.clear();
+                }
+            }
+        });
+        if (!chunk.isEmpty()) {
+            int inserted = insertChunk(chunk);
+            accepted[0] += inserted;
+            rejected[0] += chunk.size() - inserted;
+        }
+        //New rows can show up in any search or page, but cached employees are still correct
+        if (accepted[0] > 0) {
+            employeeCache.evictQueryResults();
+            maintenance.optimizeAfterImport();
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new ImportResult(accepted[0], rejected[0], elapsedMillis);
+    }
+
+    /**
+     * Writes one chunk of already validated employees in a single transaction.
+     *
+     * @param chunk the employees to insert
+     * @return the number of rows inserted (duplicate emails are left out)
+     */
+    private int insertChunk(List<Employee> chunk) {
+        Integer inserted = tx.execute(status -> {
+            int[][] counts = jdbc.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, e) -> {
+                ps.setString(1, e.getFirstName());
+                ps.setString(2, e.getLastName());
+                ps.setString(3, e.getEmail());
+                ps.setString(4, e.getDepartment());
+                ps.setString(5, e.getPhone());
+                ps.setString(6, e.getOfficeLocation());
+                ps.setString(7, e.getHireDate() == null ? null : e.getHireDate().format(DATE_FMT));
+                ps.setInt(8, e.isActive() ? 1 : 0);
+            });
+            int rows = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    rows += count;
+                }
+            }
+            return rows;
+        });
+        return inserted == null ? 0 : inserted;
+    }
+}
@@ -9,17 +9,51 @@
  * updating, deleting, and retrieving employees.
  *
  * This version also defines a custom query that searches employees by
- * ID, first name, last name, email, or department.
+ * ID, first name, last name, email, or department, plus a faster version of
+ * the same search that goes through the SQLite FTS5 index (V4__employee_search_index.sql).
+ *
+ * The "page" queries use keyset paging: instead of OFFSET (which makes SQLite
+ * walk past every skipped row) they seek straight to the ID after the last row
+ * on the previous page, so every page costs the same no matter how deep it is.
+ *
+ * The search and page queries are cacheable: their results (just the IDs) go in
+ * the "employee-queries" region and the employees themselves in the "employee"
+ * region (see CacheConfig).  Hibernate drops cached results whenever the
+ * employee table changes.
+ *
+ * The update, delete and set-active statements each run as one SQL statement
+ * and return how many rows they changed (0 means the ID doesn't exist), so the
+ * service no longer loads or checks for the employee first.  The bulk versions
+ * do the same for a whole list of IDs at once (WHERE id IN (...)).
+ *
+ * The single-employee writes are native SQL tagged with the SINGLE_ROW_WRITES
+ * query space instead of JPQL.  A JPQL UPDATE or DELETE makes Hibernate throw
+ * out the whole "employee" region and every cached query, which is a lot to lose
+ * for one row; no entity uses that space, so Hibernate evicts nothing and
+ * EmployeeService evicts just the one employee plus the cached query results
+ * (EmployeeCache).  The bulk writes stay JPQL and clear everything.
+ *
+ * Lookups by email and department are written so they can use the indexes in
+ * V2__employee_indexes.sql; the "contains" searches (LIKE '%...%') can't use a normal
+ * index, which is what the FTS5 search is for.
  */
 
 package com.cityhall.dms;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Employee entity operations.
@@ -29,6 +63,12 @@ import java.util.List;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
 
+    /**
+     * The query space the single-employee writes declare.  It isn't the table
+     * of any entity, so writing to it doesn't evict anything from the cache.
+     */
+    String SINGLE_ROW_WRITES = "employee-single-row-writes";
+
     /**
      * Searches for employees whose ID, first name, last name, email,
      * or department contains the given keyword.  The search is case-insensitive.
@@ -36,6 +76,10 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
      * @param keyword the text used to filter employee records
      * @return a list of employees whose fields match the keyword
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.QUERY_REGION)
+    })
     @Query("""
                 SELECT e FROM Employee e
                 WHERE 
@@ -46,4 +90,274 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
                 OR LOWER(e.department) LIKE LOWER(CONCAT('%', :keyword, '%'))
             """)
     List<Employee> searchEmployees(@Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    /**
+     * Searches employees through the employee_fts trigram index instead of scanning
+     * the table.  The phrase must be a quoted FTS5 string of at least 3 characters
+     * (see EmployeeService.searchEmployees).  For ASCII keywords it matches the
+     * same rows as the LIKE search above.  Non-ASCII ones differ (FTS5 folds case
+     * with Unicode rules, LOWER/LIKE only fold A-Z), so the service sends those to
+     * the LIKE search.
+     *
+     * @param phrase the keyword wrapped in double quotes for FTS5
+     * @return a list of employees whose fields contain the keyword, ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.QUERY_REGION),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee")
+    })
+    @Query(value = """
+                SELECT e.* FROM employee e
+                WHERE e.id IN (SELECT rowid FROM employee_fts WHERE employee_fts MATCH :phrase)
+                ORDER BY e.id
+            """, nativeQuery = true)
+    List<Employee> searchEmployeesFts(@Param("phrase") String phrase);
+
+    /**
+     * Returns the next page of employees with an ID greater than the given one.
+     *
+     * @param afterId the last ID on the previous page (0 for the first page)
+     * @param limit the maximum number of rows to return
+     * @return employees ordered by ID, ascending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.QUERY_REGION)
+    })
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    /**
+     * Returns the previous page of employees with an ID less than the given one.
+     *
+     * @param beforeId the first ID on the page the user is coming back from
+     * @param limit the maximum number of rows to return
+     * @return employees ordered by ID, descending (closest to beforeId first)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.QUERY_REGION)
+    })
+    List<Employee> findByIdLessThanOrderByIdDesc(Integer beforeId, Limit limit);
+
+    /**
+     * Keyset-paged version of searchEmployees, moving forward.
+     *
+     * @param keyword the text used to filter employee records
+     * @param afterId the last ID on the previous page (0 for the first page)
+     * @param limit the maximum number of rows to return
+     * @return matching employees ordered by ID, ascending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.QUERY_REGION)
+    })
+    @Query("""
+                SELECT e FROM Employee e
+                WHERE e.id > :afterId AND (
+                CAST(e.id AS string) LIKE %:keyword%
+                OR LOWER(e.firstName) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR LOWER(e.email) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR LOWER(e.department) LIKE LOWER(CONCAT('%', :keyword, '%')))
+                ORDER BY e.id ASC
+            """)
+    List<Employee> searchEmployeesAfter(@Param("keyword") String keyword, @Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Keyset-paged version of searchEmployees, moving backward.
+     *
+     * @param keyword the text used to filter employee records
+     * @param beforeId the first ID on the page the user is coming back from
+     * @param limit the maximum number of rows to return
+     * @return matching employees ordered by ID, descending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.QUERY_REGION)
+    })
+    @Query("""
+                SELECT e FROM Employee e
+                WHERE e.id < :beforeId AND (
+                CAST(e.id AS string) LIKE %:keyword%
+                OR LOWER(e.firstName) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR LOWER(e.email) LIKE LOWER(CONCAT('%', :keyword, '%'))
+                OR LOWER(e.department) LIKE LOWER(CONCAT('%', :keyword, '%')))
+                ORDER BY e.id DESC
+            """)
+    List<Employee> searchEmployeesBefore(@Param("keyword") String keyword, @Param("beforeId") int beforeId, Limit limit);
+
+    /**
+     * Keyset-paged version of searchEmployeesFts, moving forward.  FTS5 can seek
+     * on rowid directly, so this never reads matches from earlier pages.
+     *
+     * @param phrase the keyword wrapped in double quotes for FTS5
+     * @param afterId the last ID on the previous page (0 for the first page)
+     * @param limit the maximum number of rows to return
+     * @return matching employees ordered by ID, ascending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.QUERY_REGION),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee")
+    })
+    @Query(value = """
+                SELECT e.* FROM employee_fts
+                JOIN employee e ON e.id = employee_fts.rowid
+                WHERE employee_fts MATCH :phrase AND employee_fts.rowid > :afterId
+                ORDER BY employee_fts.rowid ASC
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<Employee> searchEmployeesFtsAfter(@Param("phrase") String phrase, @Param("afterId") int afterId,
+                                           @Param("limit") int limit);
+
+    /**
+     * Keyset-paged version of searchEmployeesFts, moving backward.
+     *
+     * @param phrase the keyword wrapped in double quotes for FTS5
+     * @param beforeId the first ID on the page the user is coming back from
+     * @param limit the maximum number of rows to return
+     * @return matching employees ordered by ID, descending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.QUERY_REGION),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employee")
+    })
+    @Query(value = """
+                SELECT e.* FROM employee_fts
+                JOIN employee e ON e.id = employee_fts.rowid
+                WHERE employee_fts MATCH :phrase AND employee_fts.rowid < :beforeId
+                ORDER BY employee_fts.rowid DESC
+                LIMIT :limit
+            """, nativeQuery = true)
+    List<Employee> searchEmployeesFtsBefore(@Param("phrase") String phrase, @Param("beforeId") int beforeId,
+                                            @Param("limit") int limit);
+
+    /**
+     * Finds the employee with the given email, ignoring case.  Written as
+     * LOWER(email) = LOWER(:email) so SQLite uses the unique lower(email) index
+     * (V2__employee_indexes.sql) instead of scanning the table.
+     *
+     * @param email the email address to look up
+     * @return the employee with that email, if there is one
+     */
+    @Query("SELECT e FROM Employee e WHERE LOWER(e.email) = LOWER(:email)")
+    Optional<Employee> findByEmailIgnoreCase(@Param("email") String email);
+
+    /**
+     * Lists everyone in one department, alphabetically by last name then first
+     * name.  The department = :department test uses the (department, active) index.
+     *
+     * @param department the exact department name
+     * @return the employees in that department
+     */
+    @Query("SELECT e FROM Employee e WHERE e.department = :department ORDER BY e.lastName, e.firstName, e.id")
+    List<Employee> findByDepartmentOrderByName(@Param("department") String department);
+
+    /**
+     * Overwrites every editable field of one employee with a single UPDATE.
+     * Doesn't touch the cache; the caller evicts the employee afterwards.
+     *
+     * @param id the ID of the employee to update
+     * @param firstName the new first name
+     * @param lastName the new last name
+     * @param email the new email
+     * @param department the new department
+     * @param phone the new phone number
+     * @param officeLocation the new office location
+     * @param hireDate the new hire date as stored in the column (yyyy-MM-dd, or null); native
+     *                 SQL skips LocalDateAttributeConverter, so the caller converts it
+     * @param active whether the employee is active
+     * @return the number of rows updated (1, or 0 if the ID doesn't exist)
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SINGLE_ROW_WRITES))
+    @Query(value = """
+                UPDATE employee SET
+                first_name = :firstName,
+                last_name = :lastName,
+                email = :email,
+                department = :department,
+                phone = :phone,
+                office_location = :officeLocation,
+                hire_date = :hireDate,
+                active = :active
+                WHERE id = :id
+            """, nativeQuery = true)
+    int updateEmployeeFields(@Param("id") int id,
+                             @Param("firstName") String firstName,
+                             @Param("lastName") String lastName,
+                             @Param("email") String email,
+                             @Param("department") String department,
+                             @Param("phone") String phone,
+                             @Param("officeLocation") String officeLocation,
+                             @Param("hireDate") String hireDate,
+                             @Param("active") boolean active);
+
+    /**
+     * Deletes one employee with a single DELETE (no SELECT first).
+     * Doesn't touch the cache; the caller evicts the employee afterwards.
+     *
+     * @param id the ID of the employee to delete
+     * @return the number of rows deleted (1, or 0 if the ID doesn't exist)
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SINGLE_ROW_WRITES))
+    @Query(value = "DELETE FROM employee WHERE id = :id", nativeQuery = true)
+    int deleteEmployeeById(@Param("id") int id);
+
+    /**
+     * Marks one employee active or inactive with a single UPDATE.
+     * Doesn't touch the cache; the caller evicts the employee afterwards.
+     *
+     * @param id the ID of the employee
+     * @param active true to reactivate, false to deactivate
+     * @return the number of rows updated (1, or 0 if the ID doesn't exist)
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SINGLE_ROW_WRITES))
+    @Query(value = "UPDATE employee SET active = :active WHERE id = :id", nativeQuery = true)
+    int setActive(@Param("id") int id, @Param("active") boolean active);
+
+    /**
+     * Marks every listed employee active or inactive with a single UPDATE.
+     *
+     * @param ids the IDs of the employees to change
+     * @param active true to reactivate, false to deactivate
+     * @return the number of rows updated (IDs that don't exist are skipped)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Employee e SET e.active = :active WHERE e.id IN :ids")
+    int setActiveForIds(@Param("ids") Collection<Integer> ids, @Param("active") boolean active);
+
+    /**
+     * Deletes every listed employee with a single DELETE.
+     *
+     * @param ids the IDs of the employees to delete
+     * @return the number of rows deleted (IDs that don't exist are skipped)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Employee e WHERE e.id IN :ids")
+    int deleteEmployeesByIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Reads the running per-department counts kept by the department_count
+     * triggers (V3__department_counts.sql).  This reads one row per department, not one
+     * per employee.
+     *
+     * @return the departments that have at least one employee, with their counts
+     */
+    @Query(value = """
+            SELECT department AS department, employees AS employees, active_employees AS activeEmployees
+            FROM department_count
+            WHERE employees > 0
+            """, nativeQuery = true)
+    List<DepartmentCount> findDepartmentCounts();
+}
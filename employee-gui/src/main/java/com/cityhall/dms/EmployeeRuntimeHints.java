@@ -0,0 +1,84 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeRuntimeHints.java
+ *
+ * A GraalVM native image only contains the classes, fields and files the
+ * build can see being used.  Anything the app reaches by name at runtime
+ * (reflection, classpath files) has to be listed ahead of time, or it is
+ * missing from the binary.  Spring AOT already covers the beans; this class
+ * lists the rest:
+ * - the JPA entities and the LocalDate converter, which Hibernate creates and
+ *   fills in through reflection;
+ * - the SQLite JDBC driver and Hibernate dialect, which are loaded by the class
+ *   names in application.properties, and the Caffeine JCache provider, which
+ *   CacheConfig asks JCache for by class name;
+ * - EmployeeDto, which Jackson writes through reflection for the REST API;
+ * - the Thymeleaf templates and the migration and seed SQL scripts, which are
+ *   read from the classpath.
+ * The sqlite-jdbc native library needs nothing here: the sqlite-jdbc jar has
+ * its own native-image feature that copies libsqlitejdbc.so into the binary.
+ *
+ * Registered on EmployeeGuiApplication with @ImportRuntimeHints.  Spring AOT
+ * writes the hints out as GraalVM config files; a normal JVM run ignores them.
+ */
+
+package com.cityhall.dms;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Registers the reflection and resource hints the native image needs.
+ */
+public class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * JDBC driver named by spring.datasource.driver-class-name.
+     */
+    static final String SQLITE_DRIVER = "org.sqlite.JDBC";
+
+    /**
+     * Dialect named by spring.jpa.database-platform.
+     */
+    static final String SQLITE_DIALECT = "org.hibernate.community.dialect.SQLiteDialect";
+
+    /**
+     * Adds the hints.
+     *
+     * @param hints the hints being collected for the native image
+     * @param classLoader the class loader used for the AOT build
+     */
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        //Hibernate reads and writes entity fields directly and creates entities with the no-arg constructor
+        for (Class<?> entity : new Class<?>[] {Employee.class, DepartmentCount.class}) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.reflection().registerType(LocalDateAttributeConverter.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        //The REST API writes DTOs with Jackson inside maps and NDJSON streams, where Spring AOT can't see the type
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), EmployeeDto.class);
+
+        //Listed in META-INF/spring.factories, which Spring Boot instantiates by name
+        hints.reflection().registerType(SchemaMigratorDetector.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.reflection().registerType(TypeReference.of(SQLITE_DRIVER), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(TypeReference.of(SQLITE_DIALECT), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.resources().registerPattern("templates/*.html");
+        hints.resources().registerPattern("db/migration/*.sql");
+        hints.resources().registerPattern("db/seed/*.sql");
+    }
+}
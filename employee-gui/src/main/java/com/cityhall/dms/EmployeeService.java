@@ -8,14 +8,31 @@
  * Management System. It acts as the middle layer between the controller and
  * the repository, validating data and ensuring that all operations are handled
  * safely before interacting with the database.
+ *
+ * Methods that only read are @Transactional(readOnly = true); with the "prod"
+ * profile those run on the read-only connection pool (SqliteDataSourceConfig).
  */
 
 package com.cityhall.dms;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -31,6 +48,39 @@ public class EmployeeService {
     @Autowired
     private EmployeeRepository repo;
 
+    /**
+     * Evicts the employee a single-row write changed (those writes skip Hibernate's own cache handling).
+     */
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    /**
+     * Which search implementation to use: "fts" for the SQLite full-text index,
+     * anything else for the original LIKE query.
+     */
+    @Value("${dms.search.mode:like}")
+    private String searchMode;
+
+    /**
+     * Turns hire dates into the column's text for the native UPDATE, the same way JPA does for entities.
+     */
+    private static final LocalDateAttributeConverter HIRE_DATE_COLUMN = new LocalDateAttributeConverter();
+
+    /**
+     * Largest page size a caller can ask for, so one request can't pull the whole table.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Most IDs put in one bulk UPDATE or DELETE (one "?" each, well under SQLite's limit).
+     */
+    private static final int MAX_BULK_CHUNK = 1000;
+
+    /**
+     * SQLite's error code for a write that broke a constraint (such as the unique email index).
+     */
+    private static final int SQLITE_CONSTRAINT = 19;
+
     /**
      * Adds a new employee to the system after validating their information.
      *
@@ -39,7 +89,14 @@ public class EmployeeService {
      */
     public Employee addEmployee(Employee employee) {
         if (isValidEmployee(employee)) {
-            return repo.save(employee);
+            try {
+                return repo.save(employee);
+            } catch (DataAccessException ex) {
+                //The unique lower(email) index turned it down
+                if (!isConstraintViolation(ex)) throw ex;
+                System.out.println("Error: Another employee already uses that email.");
+                return null;
+            }
         } else {
             System.out.println("Error: Invalid employee information.");
             return null;
@@ -51,6 +108,7 @@ public class EmployeeService {
      *
      * @return a list of all employees
      */
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return repo.findAll();
     }
@@ -61,11 +119,36 @@ public class EmployeeService {
      * @param id the employee's ID
      * @return the Employee object, or null if not found
      */
+    @Transactional(readOnly = true)
     public Employee getEmployeeById(int id) {
         Optional<Employee> emp = repo.findById(id);
         return emp.orElse(null);
     }
 
+    /**
+     * Looks up an employee by email, ignoring case (uses the lower(email) index).
+     *
+     * @param email the email address to look up
+     * @return the Employee object, or null if nobody has that email
+     */
+    @Transactional(readOnly = true)
+    public Employee getEmployeeByEmail(String email) {
+        if (email == null || email.isBlank()) return null;
+        return repo.findByEmailIgnoreCase(email.trim()).orElse(null);
+    }
+
+    /**
+     * Lists the employees in one department, sorted by last name and first name.
+     *
+     * @param department the exact department name
+     * @return the employees in that department (empty if there are none)
+     */
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByDepartment(String department) {
+        if (department == null || department.isBlank()) return Collections.emptyList();
+        return repo.findByDepartmentOrderByName(department.trim());
+    }
+
     /**
      * Updates an existing employee if their ID exists and the data is valid.
      *
@@ -73,15 +156,31 @@ public class EmployeeService {
      * @return the saved Employee object, or null if validation fails or the ID does not exist
      */
     public Employee updateEmployee(Employee employee) {
-        if (employee.getId() == null || !repo.existsById(employee.getId())) {
+        if (employee.getId() == null) {
             System.out.println("Error: Employee not found for update.");
             return null;
         }
-        if (isValidEmployee(employee)) {
-            return repo.save(employee);
+        if (!isValidEmployee(employee)) {
+            System.out.println("Error: Invalid employee information.");
+            return null;
         }
-        System.out.println("Error: Invalid employee information.");
-        return null;
+        //One UPDATE both saves the changes and tells us whether the ID existed
+        int updated;
+        try {
+            updated = repo.updateEmployeeFields(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                    employee.getEmail(), employee.getDepartment(), employee.getPhone(), employee.getOfficeLocation(),
+                    HIRE_DATE_COLUMN.convertToDatabaseColumn(employee.getHireDate()), employee.isActive());
+        } catch (DataAccessException ex) {
+            if (!isConstraintViolation(ex)) throw ex;
+            System.out.println("Error: Another employee already uses that email.");
+            return null;
+        }
+        if (updated == 0) {
+            System.out.println("Error: Employee not found for update.");
+            return null;
+        }
+        employeeCache.evictEmployee(employee.getId());
+        return employee;
     }
 
     /**
@@ -91,8 +190,8 @@ public class EmployeeService {
      * @return true if deletion was successful, false otherwise
      */
     public boolean deleteEmployee(int id) {
-        if (repo.existsById(id)) {
-            repo.deleteById(id);
+        if (repo.deleteEmployeeById(id) > 0) {
+            employeeCache.evictEmployee(id);
             return true;
         }
         System.out.println("Error: Employee not found for deletion.");
@@ -106,11 +205,7 @@ public class EmployeeService {
      * @return true if the employee was deactivated, false if not found
      */
     public boolean deactivateEmployee(int id) {
-        Employee emp = getEmployeeById(id);
-        if (emp == null) return false;
-        emp.setActive(false);
-        repo.save(emp);
-        return true;
+        return setActive(id, false);
     }
 
     /**
@@ -120,20 +215,113 @@ public class EmployeeService {
      * @return true if the employee was reactivated, false if not found
      */
     public boolean reactivateEmployee(int id) {
-        Employee emp = getEmployeeById(id);
-        if (emp == null) return false;
-        emp.setActive(true);
-        repo.save(emp);
+        return setActive(id, true);
+    }
+
+    /**
+     * Sets one employee's active flag and evicts them from the cache.
+     *
+     * @param id the ID of the employee
+     * @param active the new value
+     * @return true if the employee exists
+     */
+    private boolean setActive(int id, boolean active) {
+        if (repo.setActive(id, active) == 0) return false;
+        employeeCache.evictEmployee(id);
         return true;
     }
 
+    /**
+     * Marks every listed employee as inactive in one transaction.
+     *
+     * @param ids the IDs of the employees to deactivate
+     * @return how many employees were deactivated (IDs that don't exist are skipped)
+     */
+    @Transactional
+    public int deactivateEmployees(Collection<Integer> ids) {
+        int changed = 0;
+        for (List<Integer> chunk : chunks(ids)) {
+            changed += repo.setActiveForIds(chunk, false);
+        }
+        return changed;
+    }
+
+    /**
+     * Marks every listed employee as active again in one transaction.
+     *
+     * @param ids the IDs of the employees to reactivate
+     * @return how many employees were reactivated (IDs that don't exist are skipped)
+     */
+    @Transactional
+    public int reactivateEmployees(Collection<Integer> ids) {
+        int changed = 0;
+        for (List<Integer> chunk : chunks(ids)) {
+            changed += repo.setActiveForIds(chunk, true);
+        }
+        return changed;
+    }
+
+    /**
+     * Deletes every listed employee in one transaction.  Either all of them are
+     * deleted or, if something fails part way, none are.
+     *
+     * @param ids the IDs of the employees to delete
+     * @return how many employees were deleted (IDs that don't exist are skipped)
+     */
+    @Transactional
+    public int deleteEmployees(Collection<Integer> ids) {
+        int deleted = 0;
+        for (List<Integer> chunk : chunks(ids)) {
+            deleted += repo.deleteEmployeesByIds(chunk);
+        }
+        return deleted;
+    }
+
+    /**
+     * Splits a list of IDs into groups of at most MAX_BULK_CHUNK, dropping nulls
+     * and duplicates.  A page of selections fits in one group, so the usual case is
+     * one statement; bigger lists stay under SQLite's limit on "?" parameters.
+     *
+     * @param ids the IDs passed to a bulk operation (may be null)
+     * @return the IDs in groups, or an empty list if there are none
+     */
+    private static List<List<Integer>> chunks(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return Collections.emptyList();
+        List<Integer> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        unique.removeIf(Objects::isNull);
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < unique.size(); from += MAX_BULK_CHUNK) {
+            chunks.add(unique.subList(from, Math.min(from + MAX_BULK_CHUNK, unique.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Checks whether a failed write was turned down by a constraint.  The SQLite
+     * dialect reports these as a generic JPA error, so this looks for SQLite's
+     * SQLITE_CONSTRAINT code (19) on the underlying SQLException.  Since names and
+     * email are validated first, the only constraint left to hit is the unique email.
+     *
+     * @param ex the exception thrown by the repository
+     * @return true if SQLite rejected the row because of a constraint
+     */
+    private static boolean isConstraintViolation(DataAccessException ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && sql.getErrorCode() == SQLITE_CONSTRAINT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Validates employee data, ensuring required fields are not blank.
      *
      * @param employee the employee to validate
      * @return true if the employee is valid, false otherwise
      */
-    private boolean isValidEmployee(Employee employee) {
+    public boolean isValidEmployee(Employee employee) {
         if (employee == null) return false;
 
         boolean namesOk =
@@ -155,49 +343,196 @@ public class EmployeeService {
      * @param keyword the text to search for
      * @return a filtered list of employees matching the keyword
      */
+    @Transactional(readOnly = true)
     public List<Employee> searchEmployees(String keyword) {
         if (keyword == null || keyword.isBlank()) {
             return repo.findAll(); //If nothing typed, show everyone
         }
+        if (useFullTextSearch(keyword)) {
+            return repo.searchEmployeesFts(ftsPhrase(keyword));
+        }
         return repo.searchEmployees(keyword);
     }
 
     /**
-     * Validates whether the given string is in a basic email format.
+     * Returns one page of employees ordered by ID, using keyset paging.
+     * Pass afterId to move forward from a page, beforeId to move back to the
+     * page before it, or neither for the first page.
      *
-     * @param email the email address to validate the correct format
-     * @return true if the email format is valid, false otherwise
+     * @param page the page number being shown (only used for the page label and "Previous" link)
+     * @param size how many employees per page
+     * @param afterId the last ID on the page the user is moving forward from, or null
+     * @param beforeId the first ID on the page the user is moving back from, or null
+     * @return a Slice with the employees on this page and whether there are more
      */
-    public boolean validateEmailFormat(String email) {
-        if (email == null || email.isBlank()) {
-            System.out.println("Error: Email cannot be blank.");
-            return false;
+    @Transactional(readOnly = true)
+    public Slice<Employee> getEmployeePage(int page, int size, Integer afterId, Integer beforeId) {
+        int pageSize = clampPageSize(size);
+        if (beforeId != null) {
+            return toSlice(repo.findByIdLessThanOrderByIdDesc(beforeId, Limit.of(pageSize + 1)), page, pageSize, true);
+        }
+        int after = afterId == null ? 0 : afterId;
+        return toSlice(repo.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1)), page, pageSize, false);
+    }
+
+    /**
+     * Keyset-paged version of searchEmployees.  Works the same way as
+     * getEmployeePage, and a blank keyword pages through everyone.
+     *
+     * @param keyword the text to search for
+     * @param page the page number being shown
+     * @param size how many employees per page
+     * @param afterId the last ID on the page the user is moving forward from, or null
+     * @param beforeId the first ID on the page the user is moving back from, or null
+     * @return a Slice with the matching employees on this page
+     */
+    @Transactional(readOnly = true)
+    public Slice<Employee> searchEmployeePage(String keyword, int page, int size, Integer afterId, Integer beforeId) {
+        if (keyword == null || keyword.isBlank()) {
+            return getEmployeePage(page, size, afterId, beforeId);
         }
+        int pageSize = clampPageSize(size);
+        boolean fts = useFullTextSearch(keyword);
+        List<Employee> rows;
+        if (beforeId != null) {
+            rows = fts
+                    ? repo.searchEmployeesFtsBefore(ftsPhrase(keyword), beforeId, pageSize + 1)
+                    : repo.searchEmployeesBefore(keyword, beforeId, Limit.of(pageSize + 1));
+        } else {
+            int after = afterId == null ? 0 : afterId;
+            rows = fts
+                    ? repo.searchEmployeesFtsAfter(ftsPhrase(keyword), after, pageSize + 1)
+                    : repo.searchEmployeesAfter(keyword, after, Limit.of(pageSize + 1));
+        }
+        return toSlice(rows, page, pageSize, beforeId != null);
+    }
+
+    /**
+     * Turns the rows from a keyset query (which asks for one extra row to see
+     * whether another page exists) into a Slice in ascending ID order.
+     *
+     * @param rows the rows returned by the repository, up to size + 1 of them
+     * @param page the page number being shown
+     * @param size the page size
+     * @param backward true if the rows came from a "before" query (descending order)
+     * @return the page as a Slice
+     */
+    private Slice<Employee> toSlice(List<Employee> rows, int page, int size, boolean backward) {
+        boolean more = rows.size() > size;
+        List<Employee> content = more ? rows.subList(0, size) : rows;
+        if (backward) {
+            Collections.reverse(content);
+            //Going back, "more" means there are still earlier pages.  If there aren't, this is the first page.
+            return new SliceImpl<>(content, PageRequest.of(more ? Math.max(page, 1) : 0, size), true);
+        }
+        return new SliceImpl<>(content, PageRequest.of(Math.max(page, 0), size), more);
+    }
+
+    /**
+     * Keeps a requested page size between 1 and MAX_PAGE_SIZE.
+     *
+     * @param size the requested page size
+     * @return the page size to use
+     */
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
 
-        //Basic pattern for email: text@text.domain
-        boolean isValid = email.matches(".+@.+\\..+");
+    /**
+     * Wraps a keyword in FTS5 phrase syntax (double quotes, with any quotes inside doubled).
+     *
+     * @param keyword the raw keyword
+     * @return the quoted phrase for a MATCH query
+     */
+    private String ftsPhrase(String keyword) {
+        return '"' + keyword.replace("\"", "\"\"") + '"';
+    }
 
-        if (!isValid) {
-            System.out.println("Error: Invalid email format. Please use something like name@domain.com");
+    /**
+     * Decides whether a keyword can go through the full-text index and still give
+     * the same results as the LIKE query.  The trigram index needs at least 3
+     * characters, and % or _ mean wildcards to LIKE, so those go to the old query.
+     * So do keywords with any non-ASCII letter: FTS5 ignores case with Unicode
+     * rules ("élise" finds "Élise") but SQLite's LOWER and LIKE only fold A-Z,
+     * so the two searches would find different employees.
+     *
+     * @param keyword the text being searched for
+     * @return true if the FTS5 search should be used
+     */
+    private boolean useFullTextSearch(String keyword) {
+        return "fts".equalsIgnoreCase(searchMode)
+                && keyword.length() >= 3
+                && keyword.indexOf('%') < 0
+                && keyword.indexOf('_') < 0
+                && isAscii(keyword);
+    }
+
+    /**
+     * Checks whether every character of the text is plain ASCII.
+     *
+     * @param text the text to check
+     * @return true if there are no characters above 127
+     */
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 127) return false;
         }
-        return isValid;
+        return true;
+    }
+
+    /**
+     * Validates whether the given string is in a basic email format
+     * (text@text.domain).  Nothing is printed; use checkEmail to find out
+     * why an email was rejected.
+     *
+     * @param email the email address to validate the correct format
+     * @return true if the email format is valid, false otherwise
+     */
+    public boolean validateEmailFormat(String email) {
+        return checkEmail(email).isValid();
+    }
+
+    /**
+     * Checks an email address and reports what is wrong with it, if anything.
+     *
+     * @param email the email address to check
+     * @return EmailValidator.Result.VALID, or the reason the email was rejected
+     */
+    public EmailValidator.Result checkEmail(String email) {
+        return EmailValidator.check(email);
     }
 
     /**
      * Counts how many employees belong to each department.
-     * Used by the custom action and for testing.
+     * Used by the custom action and for testing.  The counts come from the
+     * department_count summary table, which the database keeps up to date on
+     * every insert, update and delete, so no employees are loaded.
      *
      * @return a map where keys are department names and values are employee counts
      */
+    @Transactional(readOnly = true)
     public java.util.Map<String, Integer> countByDepartment() {
         java.util.Map<String, Integer> counts = new java.util.HashMap<>();
+        for (DepartmentCount c : repo.findDepartmentCounts()) {
+            counts.put(c.getDepartment(), (int) c.getEmployees());
+        }
+        return counts;
+    }
 
-        for (Employee e : getAllEmployees()) {
-            String dept = (e.getDepartment() == null || e.getDepartment().isBlank())
-                    ? "(Unknown)"
-                    : e.getDepartment().trim();
-            counts.put(dept, counts.getOrDefault(dept, 0) + 1);
+    /**
+     * Counts how many active employees belong to each department.
+     * Departments with no active employees are left out.
+     *
+     * @return a map where keys are department names and values are active employee counts
+     */
+    @Transactional(readOnly = true)
+    public java.util.Map<String, Integer> countActiveByDepartment() {
+        java.util.Map<String, Integer> counts = new java.util.HashMap<>();
+        for (DepartmentCount c : repo.findDepartmentCounts()) {
+            if (c.getActiveEmployees() > 0) {
+                counts.put(c.getDepartment(), (int) c.getActiveEmployees());
+            }
         }
         return counts;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeStreamService.java
+ *
+ * This service walks through the employee table with a plain JDBC cursor and
+ * hands each row to the caller as soon as it is read.  It is used when the
+ * whole directory (or a whole department) has to be sent somewhere, such as
+ * the NDJSON listing at /api/employees/stream.
+ *
+ * Loading a million employees through JPA would build a million entities (and
+ * put them in the persistence context and the second-level cache) before the
+ * first byte is written.  Here only one row is in memory at a time: the driver
+ * reads fetchSize rows ahead, the caller writes the row out, and the row is
+ * garbage as soon as the next one arrives.  Memory use stays the same no
+ * matter how many employees there are.
+ */
+
+package com.cityhall.dms;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Streams employees straight from a JDBC result set.
+ */
+@Service
+public class EmployeeStreamService {
+
+    /**
+     * The columns read for each employee, in the order mapRow expects them.
+     */
+    static final String SELECT_SQL = "SELECT id, first_name, last_name, email, department, phone, "
+            + "office_location, hire_date, active FROM employee";
+
+    /**
+     * Receives the employees one at a time.  Allowed to throw IOException, since
+     * it usually writes to a response or a file.
+     */
+    @FunctionalInterface
+    public interface RowWriter {
+
+        /**
+         * Handles one employee.
+         *
+         * @param employee the employee that was just read
+         * @throws IOException if the employee can't be written
+         */
+        void write(EmployeeDto employee) throws IOException;
+    }
+
+    /**
+     * A JdbcTemplate of our own, so the fetch size doesn't change the shared one.
+     */
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Runs each walk in one read-only transaction (so in the prod profile it uses
+     * the read-only pool and never waits on the write connection).
+     */
+    private final TransactionTemplate readOnlyTx;
+
+    /**
+     * Creates the service.
+     *
+     * @param dataSource the application's data source
+     * @param transactionManager the application's transaction manager
+     * @param fetchSize how many rows the driver reads ahead of the caller
+     */
+    public EmployeeStreamService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                 @Value("${dms.stream.fetch-size:500}") int fetchSize) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Reads the employees in ID order and passes each one to the writer.
+     *
+     * @param department only stream this department, or null (or blank) for everyone
+     * @param writer receives each employee as it is read
+     * @return how many employees were streamed
+     * @throws IOException if the writer fails (the rest of the rows are not read)
+     */
+    public long streamEmployees(String department, RowWriter writer) throws IOException {
+        boolean filtered = department != null && !department.isBlank();
+        String sql = SELECT_SQL + (filtered ? " WHERE department = ?" : "") + " ORDER BY id";
+        Object[] args = filtered ? new Object[] {department.trim()} : new Object[0];
+
+        long[] count = new long[1];
+        try {
+            readOnlyTx.executeWithoutResult(status -> jdbc.query(sql, rs -> {
+                try {
+                    writer.write(mapRow(rs));
+                    count[0]++;
+                } catch (IOException ex) {
+                    //RowCallbackHandler can only throw SQLException, so carry it out unchecked
+                    throw new UncheckedIOException(ex);
+                }
+            }, args));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        return count[0];
+    }
+
+    /**
+     * Turns the current row into a DTO.
+     *
+     * @param rs the result set, positioned on a row from SELECT_SQL
+     * @return the employee in that row
+     * @throws SQLException if a column can't be read
+     */
+    static EmployeeDto mapRow(ResultSet rs) throws SQLException {
+        String hireDate = rs.getString(8);
+        return new EmployeeDto(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                rs.getString(5), rs.getString(6), rs.getString(7),
+                hireDate == null || hireDate.isBlank() ? null : LocalDate.parse(hireDate),
+                rs.getInt(9) != 0);
+    }
+}
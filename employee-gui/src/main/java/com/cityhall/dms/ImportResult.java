@@ -0,0 +1,84 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.ImportResult.java
+ *
+ * This class holds the summary of one bulk import: how many lines were
+ * saved, how many were rejected, and how long the whole import took.
+ * It gets shown to the user after an upload finishes.
+ */
+
+package com.cityhall.dms;
+
+/**
+ * Summary of a finished employee import.
+ */
+public class ImportResult {
+
+    /**
+     * Number of employees that were saved to the database.
+     */
+    private final int accepted;
+
+    /**
+     * Number of lines that were skipped (bad format, failed validation, or an email already in use).
+     */
+    private final int rejected;
+
+    /**
+     * How long the import took, in milliseconds.
+     */
+    private final long elapsedMillis;
+
+    /**
+     * Creates a new import summary.
+     *
+     * @param accepted the number of employees saved
+     * @param rejected the number of lines skipped
+     * @param elapsedMillis the time the import took in milliseconds
+     */
+    public ImportResult(int accepted, int rejected, long elapsedMillis) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the number of employees saved.
+     *
+     * @return the accepted row count
+     */
+    public int getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Gets the number of lines that were skipped.
+     *
+     * @return the rejected row count
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets how long the import took.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Converts the summary to a short message for the user.
+     *
+     * @return a one-line description of the import
+     */
+    @Override
+    public String toString() {
+        return String.format("Imported %d employees (%d lines rejected) in %d ms.",
+                accepted, rejected, elapsedMillis);
+    }
+}
@@ -0,0 +1,309 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.SchemaMigrator.java
+ *
+ * This component brings the database schema up to date when the application
+ * starts.  The schema lives in numbered scripts under db/migration
+ * (V1__create_employee.sql, V2__employee_indexes.sql, ...).  Each script runs
+ * once, in its own transaction, and is then recorded in the schema_version
+ * table along with a checksum of its contents.  On later startups the
+ * scripts that are already recorded are skipped, so a database that is up to
+ * date costs one small SELECT no matter how many employees it holds.
+ *
+ * If an applied script is edited afterwards, its checksum no longer matches
+ * and startup stops with an error instead of quietly running a different
+ * schema; add a new script for the change instead.
+ *
+ * The sample employees in db/seed/data.sql are only loaded into a brand new
+ * database, never into one that already has an employee table.
+ */
+
+package com.cityhall.dms;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the versioned schema scripts that haven't run yet and loads the seed
+ * data into new databases.
+ */
+@Component
+public class SchemaMigrator {
+
+    /**
+     * Where the migration scripts are found.
+     */
+    public static final String MIGRATION_LOCATION = "classpath*:db/migration/V*__*.sql";
+
+    /**
+     * Sample employees for a new database.
+     */
+    public static final String SEED_LOCATION = "classpath:db/seed/data.sql";
+
+    /**
+     * Script names look like V3__department_counts.sql (version 3, "department counts").
+     */
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    /**
+     * One row per applied script.
+     */
+    private static final String CREATE_HISTORY_SQL = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description TEXT NOT NULL,
+                script TEXT NOT NULL,
+                checksum INTEGER NOT NULL,
+                installed_on TEXT NOT NULL,
+                execution_ms INTEGER NOT NULL
+            )
+            """;
+
+    /**
+     * Records an applied script.
+     */
+    private static final String INSERT_HISTORY_SQL = """
+            INSERT INTO schema_version (version, description, script, checksum, installed_on, execution_ms)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * One migration script found on the classpath.
+     */
+    private record Migration(int version, String description, String script, Resource resource, long checksum) {
+    }
+
+    /**
+     * The database being migrated.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Whether a brand new database gets the sample employees.
+     */
+    private final boolean seedData;
+
+    /**
+     * Creates a migrator for a database.
+     *
+     * @param dataSource the database to migrate
+     * @param seedData true to load db/seed/data.sql into a brand new database
+     */
+    public SchemaMigrator(DataSource dataSource, @Value("${dms.db.seed-data:true}") boolean seedData) {
+        this.dataSource = dataSource;
+        this.seedData = seedData;
+    }
+
+    /**
+     * Runs at startup, before JPA or anything else touches the database
+     * (see SchemaMigratorDetector).
+     */
+    @PostConstruct
+    public void migrateOnStartup() {
+        migrate();
+    }
+
+    /**
+     * Applies every migration script that isn't in schema_version yet, in version
+     * order, then loads the seed data if the database was brand new.
+     *
+     * @return how many scripts were applied (0 when the schema was already current)
+     * @throws IllegalStateException if an applied script was changed or a script fails
+     */
+    public int migrate() {
+        Connection conn = DataSourceUtils.getConnection(dataSource);
+        try {
+            boolean newDatabase = !tableExists(conn, "employee");
+            try (Statement st = conn.createStatement()) {
+                st.execute(CREATE_HISTORY_SQL);
+            }
+            Map<Integer, Long> applied = appliedChecksums(conn);
+
+            int count = 0;
+            for (Migration m : findMigrations()) {
+                Long checksum = applied.get(m.version());
+                if (checksum == null) {
+                    apply(conn, m);
+                    count++;
+                } else if (checksum != m.checksum()) {
+                    throw new IllegalStateException("Migration " + m.script() + " was changed after it was applied "
+                            + "(checksum " + checksum + " in schema_version, " + m.checksum() + " now). "
+                            + "Put schema changes in a new V" + (m.version() + 1) + "__... script instead.");
+                }
+            }
+
+            if (newDatabase && seedData) {
+                runScript(conn, new PathMatchingResourcePatternResolver().getResource(SEED_LOCATION));
+                System.out.println("Loaded the sample employees into the new database.");
+            }
+            return count;
+        } catch (SQLException | IOException ex) {
+            throw new IllegalStateException("Could not migrate the database schema", ex);
+        } finally {
+            DataSourceUtils.releaseConnection(conn, dataSource);
+        }
+    }
+
+    /**
+     * Runs one script and records it in schema_version, all in one transaction,
+     * so a script that fails part way leaves nothing behind.
+     *
+     * @param conn the database connection
+     * @param m the script to apply
+     * @throws SQLException if the script or the history insert fails
+     */
+    private void apply(Connection conn, Migration m) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            runScript(conn, m.resource());
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_HISTORY_SQL)) {
+                ps.setInt(1, m.version());
+                ps.setString(2, m.description());
+                ps.setString(3, m.script());
+                ps.setLong(4, m.checksum());
+                ps.setString(5, LocalDateTime.now().withNano(0).toString());
+                ps.setLong(6, elapsedMillis);
+                ps.executeUpdate();
+            }
+            conn.commit();
+            System.out.println("Applied migration " + m.script() + " in " + elapsedMillis + " ms.");
+        } catch (SQLException | RuntimeException ex) {
+            conn.rollback();
+            throw new IllegalStateException("Migration " + m.script() + " failed", ex);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Runs a SQL script.  Scripts with triggers (whose bodies contain semicolons)
+     * end each statement with a line holding only "/" instead of ";".
+     *
+     * @param conn the database connection
+     * @param script the script to run
+     */
+    private static void runScript(Connection conn, Resource script) {
+        String separator = read(script).contains("\n/\n") ? "/" : ScriptUtils.DEFAULT_STATEMENT_SEPARATOR;
+        ScriptUtils.executeSqlScript(conn, new EncodedResource(script, StandardCharsets.UTF_8), false, false,
+                ScriptUtils.DEFAULT_COMMENT_PREFIX, separator,
+                ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER, ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+    }
+
+    /**
+     * Finds the migration scripts on the classpath and sorts them by version.
+     *
+     * @return the scripts, lowest version first
+     * @throws IOException if the classpath can't be read
+     */
+    private static List<Migration> findMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(MIGRATION_LOCATION)) {
+            String name = resource.getFilename();
+            Matcher matcher = SCRIPT_NAME.matcher(name == null ? "" : name);
+            if (!matcher.matches()) continue;
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                    name, resource, checksum(resource)));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Two migration scripts have version " + migrations.get(i).version()
+                        + ": " + migrations.get(i - 1).script() + " and " + migrations.get(i).script());
+            }
+        }
+        return migrations;
+    }
+
+    /**
+     * Reads the versions and checksums already recorded in schema_version.
+     *
+     * @param conn the database connection
+     * @return checksums by version
+     * @throws SQLException if the table can't be read
+     */
+    private static Map<Integer, Long> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Checks whether a table exists (reads sqlite_master, not the table itself).
+     *
+     * @param conn the database connection
+     * @param table the table name
+     * @return true if the table exists
+     * @throws SQLException if sqlite_master can't be read
+     */
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * CRC32 of a script with Windows line endings turned into "\n", so checking
+     * the file out on another OS doesn't look like an edit.
+     *
+     * @param script the script
+     * @return the checksum
+     */
+    private static long checksum(Resource script) {
+        CRC32 crc = new CRC32();
+        crc.update(read(script).getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * Reads a script as UTF-8 text with "\n" line endings.
+     *
+     * @param script the script
+     * @return its contents
+     */
+    private static String read(Resource script) {
+        try (InputStream in = script.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read " + script.getDescription(), ex);
+        }
+    }
+}
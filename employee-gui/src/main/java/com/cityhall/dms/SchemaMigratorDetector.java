@@ -0,0 +1,33 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.SchemaMigratorDetector.java
+ *
+ * Tells Spring Boot that SchemaMigrator sets up the database, the same way it
+ * knows about Flyway or schema.sql.  Beans that use the database (JPA, and
+ * anything marked @DependsOnDatabaseInitialization) then wait until the
+ * migrations have run.  Registered in META-INF/spring.factories.
+ */
+
+package com.cityhall.dms;
+
+import org.springframework.boot.sql.init.dependency.AbstractBeansOfTypeDatabaseInitializerDetector;
+
+import java.util.Set;
+
+/**
+ * Marks SchemaMigrator beans as database initializers.
+ */
+public class SchemaMigratorDetector extends AbstractBeansOfTypeDatabaseInitializerDetector {
+
+    /**
+     * The bean types that initialize the database.
+     *
+     * @return just SchemaMigrator
+     */
+    @Override
+    protected Set<Class<?>> getDatabaseInitializerBeanTypes() {
+        return Set.of(SchemaMigrator.class);
+    }
+}
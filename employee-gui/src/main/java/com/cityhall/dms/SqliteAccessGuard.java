@@ -0,0 +1,230 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.SqliteAccessGuard.java
+ *
+ * This data source wrapper limits how many threads can hold a database
+ * connection at the same time.  It is only used when virtual threads are on
+ * (see VirtualThreadConfig).
+ *
+ * A virtual thread normally gives its carrier (the real OS thread under it)
+ * back whenever it blocks, so a few carriers can run thousands of requests.
+ * It can't do that while it is inside sqlite-jdbc: the driver's calls are
+ * synchronized methods that go into native code, and a busy database makes
+ * SQLite sleep inside that native code for up to busy_timeout.  The virtual
+ * thread stays "pinned" to its carrier the whole time.  If every carrier is
+ * pinned like that, no other request can run, not even one for a static file.
+ *
+ * So a thread has to take a permit before it gets a connection, and gives it
+ * back when it closes the connection.  There are fewer permits than carriers,
+ * so at least one carrier is always free.  Threads waiting for a permit wait in
+ * a Semaphore, which parks a virtual thread without pinning it.  A thread that
+ * already holds a connection can open a second one without another permit, so
+ * nested transactions can't deadlock on the guard.
+ */
+
+package com.cityhall.dms;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A DataSource that hands out connections to a limited number of threads at a time.
+ */
+public class SqliteAccessGuard extends DelegatingDataSource {
+
+    /**
+     * One permit per thread that may hold connections at the same time.
+     */
+    private final Semaphore permits;
+
+    /**
+     * How many permits there are in total.
+     */
+    private final int maxHolders;
+
+    /**
+     * How long a thread waits for a permit before the request fails.
+     */
+    private final Duration timeout;
+
+    /**
+     * How many connections the current thread has open through this guard
+     * (it only holds a permit while this is above 0).
+     */
+    private final ThreadLocal<int[]> openConnections = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Wraps a data source.
+     *
+     * @param target the data source that really makes the connections
+     * @param maxHolders how many threads may hold connections at the same time
+     * @param timeout how long to wait for a permit
+     */
+    public SqliteAccessGuard(DataSource target, int maxHolders, Duration timeout) {
+        super(target);
+        this.maxHolders = maxHolders;
+        this.permits = new Semaphore(maxHolders, true);
+        this.timeout = timeout;
+    }
+
+    /**
+     * The number of permits a guard should have so one virtual thread carrier is
+     * always left free: one less than the carriers, but at least one.
+     *
+     * @return the default number of permits
+     */
+    public static int defaultMaxHolders() {
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        return Math.max(1, carriers - 1);
+    }
+
+    /**
+     * Takes a permit (unless this thread already has one) and opens a connection.
+     *
+     * @return a connection that gives the permit back when it is closed
+     * @throws SQLException if no permit came free in time or the connection can't be opened
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Same as getConnection(), with a user name and password.
+     *
+     * @param username the database user
+     * @param password the user's password
+     * @return a connection that gives the permit back when it is closed
+     * @throws SQLException if no permit came free in time or the connection can't be opened
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            release();
+            throw ex;
+        }
+    }
+
+    /**
+     * How many threads could take a permit right now (for tests and monitoring).
+     *
+     * @return the number of free permits
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * How many threads may hold connections at the same time.
+     *
+     * @return the total number of permits
+     */
+    public int getMaxHolders() {
+        return maxHolders;
+    }
+
+    /**
+     * Takes a permit for the current thread if it doesn't hold one yet.
+     *
+     * @throws SQLException if the wait times out or the thread is interrupted
+     */
+    private void acquire() throws SQLException {
+        int[] open = openConnections.get();
+        if (open[0] == 0) {
+            try {
+                if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("Timed out after " + timeout.toMillis()
+                            + " ms waiting for one of the " + maxHolders + " SQLite access permits");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for SQLite access", ex);
+            }
+        }
+        open[0]++;
+    }
+
+    /**
+     * Counts one connection of the current thread as closed, and gives the permit
+     * back when it was the last one.
+     */
+    private void release() {
+        int[] open = openConnections.get();
+        open[0]--;
+        if (open[0] == 0) {
+            permits.release();
+            openConnections.remove();
+        }
+    }
+
+    /**
+     * Wraps a connection so closing it (once) releases the permit.
+     *
+     * @param target the real connection
+     * @return the wrapped connection
+     */
+    private Connection guard(Connection target) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (closed) return null;
+                        closed = true;
+                        try {
+                            target.close();
+                        } finally {
+                            release();
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || target.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "unwrap":
+                        if (((Class<?>) args[0]).isInstance(proxy)) return proxy;
+                        break;
+                    case "isWrapperFor":
+                        if (((Class<?>) args[0]).isInstance(proxy)) return true;
+                        break;
+                    default:
+                        break;
+                }
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getTargetException();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, handler);
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.SqliteDataSourceConfig.java
+ *
+ * This configuration replaces the default single connection pool with two
+ * pools tuned for SQLite when the "prod" profile is active
+ * (--spring.profiles.active=prod, see application-prod.properties).
+ *
+ * SQLite lets many connections read at once but only one write at a time, so:
+ * - every connection uses WAL journal mode, which lets readers keep going while
+ *   a write is in progress, plus synchronous=NORMAL, memory-mapped reads, a
+ *   bigger page cache and a busy timeout (the dms.sqlite.* settings);
+ * - writes go through a pool with exactly one connection, so writers wait their
+ *   turn in the pool instead of fighting over SQLite's lock;
+ * - @Transactional(readOnly = true) work goes to a separate pool of read-only
+ *   connections, so page loads never wait behind an import.
+ */
+
+package com.cityhall.dms;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Builds the write pool, the read pool and the data source that picks between them.
+ */
+@Configuration
+@Profile("prod")
+public class SqliteDataSourceConfig {
+
+    /**
+     * SQLite's flag for opening a database file read-only (SQLITE_OPEN_READONLY).
+     */
+    private static final String OPEN_READ_ONLY = "1";
+
+    /**
+     * The JDBC URL of the database file.
+     */
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    /**
+     * How many read-only connections to keep open.
+     */
+    @Value("${dms.sqlite.read-pool-size:4}")
+    private int readPoolSize;
+
+    /**
+     * Journal mode for the database file (WAL lets readers and the writer run at the same time).
+     */
+    @Value("${dms.sqlite.journal-mode:WAL}")
+    private String journalMode;
+
+    /**
+     * How often SQLite waits for the disk (NORMAL is safe with WAL and skips most fsyncs).
+     */
+    @Value("${dms.sqlite.synchronous:NORMAL}")
+    private String synchronous;
+
+    /**
+     * How many bytes of the database file each connection memory-maps for reading.
+     */
+    @Value("${dms.sqlite.mmap-size:268435456}")
+    private long mmapSize;
+
+    /**
+     * Page cache per connection (negative numbers are KiB, so -65536 is 64 MB).
+     */
+    @Value("${dms.sqlite.cache-size:-65536}")
+    private int cacheSize;
+
+    /**
+     * How long (ms) a connection waits on a locked database before giving up.
+     */
+    @Value("${dms.sqlite.busy-timeout:5000}")
+    private int busyTimeout;
+
+    /**
+     * The pool every write goes through.  One connection means one writer at a
+     * time, which is all SQLite allows anyway.  It is created first so the
+     * database file exists (and is switched to WAL) before any reader opens it.
+     *
+     * @return the write pool
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writeDataSource() {
+        HikariConfig config = baseConfig("sqlite-write");
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        config.addDataSourceProperty("journal_mode", journalMode);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * The pool for read-only transactions.  These connections open the file
+     * read-only, so a write sent here by mistake fails instead of taking the lock.
+     *
+     * @param writeDataSource the write pool (asked for so it starts first)
+     * @return the read pool
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readDataSource(@Qualifier("writeDataSource") HikariDataSource writeDataSource) {
+        HikariConfig config = baseConfig("sqlite-read");
+        config.setMaximumPoolSize(readPoolSize);
+        config.setMinimumIdle(readPoolSize);
+        config.setReadOnly(true);
+        config.addDataSourceProperty("open_mode", OPEN_READ_ONLY);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * The data source JPA, JdbcTemplate and the SQL scripts use.  It doesn't take
+     * a real connection until the first statement runs; by then Spring has marked
+     * the connection read-only for @Transactional(readOnly = true), and the proxy
+     * takes it from the read pool instead of the write pool.
+     *
+     * @param writeDataSource the single-connection write pool
+     * @param readDataSource the read-only pool
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") HikariDataSource writeDataSource,
+                                 @Qualifier("readDataSource") HikariDataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Settings both pools share.  The PRAGMAs are passed as driver properties so
+     * sqlite-jdbc applies them to every new connection.
+     *
+     * @param poolName the name shown in Hikari's logs
+     * @return a pool configuration with the URL and PRAGMAs filled in
+     */
+    private HikariConfig baseConfig(String poolName) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        //A SQLite connection is a file handle, not a network socket, so it never goes stale
+        config.setMaxLifetime(0);
+        config.setIdleTimeout(0);
+        config.addDataSourceProperty("synchronous", synchronous);
+        config.addDataSourceProperty("mmap_size", Long.toString(mmapSize));
+        config.addDataSourceProperty("cache_size", Integer.toString(cacheSize));
+        config.addDataSourceProperty("busy_timeout", Integer.toString(busyTimeout));
+        return config;
+    }
+}
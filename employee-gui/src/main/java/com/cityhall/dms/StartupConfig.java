@@ -0,0 +1,41 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.StartupConfig.java
+ *
+ * This configuration goes with the "fast-start" profile
+ * (application-fast-start.properties), which turns on lazy bean
+ * initialization: controllers, services, the cache statistics page and the
+ * like are only created when the first request needs them.  A few beans are
+ * still created at startup, because deferring them would only move the cost
+ * into the first request or hide a broken database until someone clicks:
+ * - SchemaMigrator, so the schema is migrated before the app says it started;
+ * - the JPA EntityManagerFactory, so Hibernate boots (and validates the schema)
+ *   at startup instead of inside the first page load.
+ */
+
+package com.cityhall.dms;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lists the beans that stay eager when lazy initialization is on.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Keeps the schema migration and Hibernate's startup out of lazy initialization.
+     * Has no effect unless spring.main.lazy-initialization=true.
+     *
+     * @return the filter Spring Boot checks before making a bean lazy
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerDatabaseBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SchemaMigrator.class, EntityManagerFactory.class);
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.VirtualThreadConfig.java
+ *
+ * This configuration is only active when Spring Boot runs requests and @Async
+ * tasks on virtual threads (Java 21 or newer with
+ * spring.threads.virtual.enabled=true, see application-virtual-threads.properties).
+ * It wraps the application's data source in a SqliteAccessGuard, so the
+ * virtual threads that are stuck inside sqlite-jdbc can never take up every
+ * carrier thread at once.
+ */
+
+package com.cityhall.dms;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts the SQLite access guard in front of the data source when virtual threads are on.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * The bean every repository, JdbcTemplate and transaction manager uses (in the
+     * prod profile it is the read/write routing proxy, not one of the two pools).
+     */
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Wraps the "dataSource" bean in a SqliteAccessGuard as soon as it is created.
+     * Static, because a post-processor has to exist before the other beans are made.
+     *
+     * @param environment used to read dms.sqlite.access-permits and dms.sqlite.access-timeout
+     * @return the post-processor
+     */
+    @Bean
+    static BeanPostProcessor sqliteAccessGuardPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof SqliteAccessGuard) {
+                    return bean;
+                }
+                int permits = environment.getProperty("dms.sqlite.access-permits", Integer.class, 0);
+                Duration timeout = environment.getProperty("dms.sqlite.access-timeout", Duration.class,
+                        Duration.ofSeconds(30));
+                SqliteAccessGuard guard = new SqliteAccessGuard(dataSource,
+                        permits > 0 ? permits : SqliteAccessGuard.defaultMaxHolders(), timeout);
+                System.out.println("Virtual threads are on; at most " + guard.getMaxHolders()
+                        + " thread(s) can use SQLite at the same time.");
+                return guard;
+            }
+        };
+    }
+}
@@ -1,8 +1,7 @@
 --This is the shema for my table which defines the structure of the database
+--IF NOT EXISTS so databases made before migrations existed keep their employees
 
-DROP TABLE IF EXISTS employee;
-
-CREATE TABLE employee (
+CREATE TABLE IF NOT EXISTS employee (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     first_name TEXT NOT NULL,
     last_name TEXT NOT NULL,
@@ -0,0 +1,21 @@
+--Indexes for the employee table.
+--Without these every lookup by email, department or name, and every sort by name or hire date, reads the whole table.
+--Check a query with: EXPLAIN QUERY PLAN <query>   (look for "USING INDEX" instead of "SCAN employee")
+
+--One email per person.  Indexed on lower(email) so "JSmith@..." and "jsmith@..." count as the same address,
+--and so lookups written as lower(email) = lower(?) can use it.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_employee_email_lower ON employee (lower(email));
+
+--Department lookups, and the covering index for counting by department: (department, active) holds everything the
+--department count needs, so rebuilding department_count (V3) never reads the table itself.
+--It also serves plain "WHERE department = ?" lookups, so a separate index on department alone isn't needed.
+CREATE INDEX IF NOT EXISTS idx_employee_department_active ON employee (department, active);
+
+--Name lookups and alphabetical lists (last name, then first name)
+CREATE INDEX IF NOT EXISTS idx_employee_last_first ON employee (last_name, first_name);
+
+--Active/inactive filtering
+CREATE INDEX IF NOT EXISTS idx_employee_active ON employee (active);
+
+--Sorting and ranges by hire date (stored as yyyy-MM-dd text, which sorts in date order)
+CREATE INDEX IF NOT EXISTS idx_employee_hire_date ON employee (hire_date);
@@ -0,0 +1,54 @@
+--Running employee counts per department (all employees, and active employees only)
+--Triggers on the employee table keep this table up to date, so counting by department reads one row per
+--department instead of every employee.  Blank departments are counted under "(Unknown)", same as before.
+--Statements end with a line holding a single slash, because the trigger bodies have semicolons inside them.
+
+CREATE TABLE IF NOT EXISTS department_count (
+    department TEXT PRIMARY KEY,
+    employees INTEGER NOT NULL DEFAULT 0,
+    active_employees INTEGER NOT NULL DEFAULT 0
+)
+/
+
+CREATE TRIGGER IF NOT EXISTS department_count_insert AFTER INSERT ON employee BEGIN
+    INSERT INTO department_count (department, employees, active_employees)
+    VALUES (COALESCE(NULLIF(TRIM(new.department, char(32, 9, 10, 13)), ''), '(Unknown)'), 1,
+            CASE WHEN new.active = 1 THEN 1 ELSE 0 END)
+    ON CONFLICT (department) DO UPDATE SET employees = employees + 1,
+                                           active_employees = active_employees + excluded.active_employees;
+END
+/
+
+CREATE TRIGGER IF NOT EXISTS department_count_delete AFTER DELETE ON employee BEGIN
+    UPDATE department_count
+    SET employees = employees - 1,
+        active_employees = active_employees - CASE WHEN old.active = 1 THEN 1 ELSE 0 END
+    WHERE department = COALESCE(NULLIF(TRIM(old.department, char(32, 9, 10, 13)), ''), '(Unknown)');
+END
+/
+
+CREATE TRIGGER IF NOT EXISTS department_count_update AFTER UPDATE OF department, active ON employee BEGIN
+    UPDATE department_count
+    SET employees = employees - 1,
+        active_employees = active_employees - CASE WHEN old.active = 1 THEN 1 ELSE 0 END
+    WHERE department = COALESCE(NULLIF(TRIM(old.department, char(32, 9, 10, 13)), ''), '(Unknown)');
+    INSERT INTO department_count (department, employees, active_employees)
+    VALUES (COALESCE(NULLIF(TRIM(new.department, char(32, 9, 10, 13)), ''), '(Unknown)'), 1,
+            CASE WHEN new.active = 1 THEN 1 ELSE 0 END)
+    ON CONFLICT (department) DO UPDATE SET employees = employees + 1,
+                                           active_employees = active_employees + excluded.active_employees;
+END
+/
+
+--Count whatever is already in the table (nothing on a new database, all the employees on one made before this
+--migration); from here on the triggers keep the counts up to date
+DELETE FROM department_count
+/
+
+INSERT INTO department_count (department, employees, active_employees)
+SELECT COALESCE(NULLIF(TRIM(department, char(32, 9, 10, 13)), ''), '(Unknown)') AS dept,
+       COUNT(*),
+       SUM(CASE WHEN active = 1 THEN 1 ELSE 0 END)
+FROM employee
+GROUP BY dept
+/
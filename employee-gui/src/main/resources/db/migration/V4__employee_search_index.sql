@@ -0,0 +1,43 @@
+--Full-text search index for the employee table (searched when dms.search.mode=fts)
+--The trigram tokenizer indexes every 3 character chunk of a column, so MATCH can find a keyword anywhere inside
+--a value (same idea as LIKE '%keyword%') without scanning the whole table.
+--It's an "external content" table: it doesn't keep its own copy of the rows, it reads them from employee by id.
+--Statements end with a line holding a single slash, because the trigger bodies have semicolons inside them.
+
+CREATE VIRTUAL TABLE IF NOT EXISTS employee_fts USING fts5(
+    id,
+    first_name,
+    last_name,
+    email,
+    department,
+    content='employee',
+    content_rowid='id',
+    tokenize='trigram'
+)
+/
+
+--Triggers that keep the index in sync with every insert, update and delete on employee
+
+CREATE TRIGGER IF NOT EXISTS employee_fts_insert AFTER INSERT ON employee BEGIN
+    INSERT INTO employee_fts (rowid, id, first_name, last_name, email, department)
+    VALUES (new.id, new.id, new.first_name, new.last_name, new.email, new.department);
+END
+/
+
+CREATE TRIGGER IF NOT EXISTS employee_fts_delete AFTER DELETE ON employee BEGIN
+    INSERT INTO employee_fts (employee_fts, rowid, id, first_name, last_name, email, department)
+    VALUES ('delete', old.id, old.id, old.first_name, old.last_name, old.email, old.department);
+END
+/
+
+CREATE TRIGGER IF NOT EXISTS employee_fts_update AFTER UPDATE OF first_name, last_name, email, department ON employee BEGIN
+    INSERT INTO employee_fts (employee_fts, rowid, id, first_name, last_name, email, department)
+    VALUES ('delete', old.id, old.id, old.first_name, old.last_name, old.email, old.department);
+    INSERT INTO employee_fts (rowid, id, first_name, last_name, email, department)
+    VALUES (new.id, new.id, new.first_name, new.last_name, new.email, new.department);
+END
+/
+
+--Index whatever is already in the table; from here on the triggers keep the index up to date
+INSERT INTO employee_fts (employee_fts) VALUES ('rebuild')
+/
@@ -0,0 +1,49 @@
+package com.cityhall.dms;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.internal.NoCachingRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.cache.CacheManager;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that dms.cache.enabled=false really turns the second-level cache off,
+ * instead of Hibernate finding hibernate-jcache on the classpath by itself and
+ * building unbounded regions on the fly.
+ */
+@SpringBootTest(properties = "dms.cache.enabled=false")
+class CacheDisabledTest {
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @Test
+    void noRegionFactoryOrCacheIsCreated() {
+        SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        assertFalse(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        assertFalse(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled());
+        assertInstanceOf(NoCachingRegionFactory.class,
+                sessionFactory.getServiceRegistry().getService(RegionFactory.class));
+        assertTrue(context.getBeansOfType(CacheManager.class).isEmpty());
+
+        Map<String, Object> stats = employeeCache.getStatistics();
+        assertEquals(false, stats.get("cacheEnabled"));
+    }
+}
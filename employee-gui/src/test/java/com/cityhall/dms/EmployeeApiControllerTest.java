@@ -0,0 +1,90 @@
+package com.cityhall.dms;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how the JSON API fills in a missing "active" flag: a new employee starts
+ * out active, while an update that leaves it out keeps the employee's current
+ * status instead of turning an inactive employee back on.
+ */
+class EmployeeApiControllerTest {
+
+    private EmployeeService service;
+    private EmployeeApiController controller;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(EmployeeService.class);
+        when(service.isValidEmployee(any())).thenReturn(true);
+        when(service.updateEmployee(any())).thenAnswer(call -> call.getArgument(0));
+        when(service.addEmployee(any())).thenAnswer(call -> {
+            Employee employee = call.getArgument(0);
+            employee.setId(7);
+            return employee;
+        });
+        controller = new EmployeeApiController();
+        ReflectionTestUtils.setField(controller, "service", service);
+    }
+
+    private static EmployeeDto dto(Boolean active) {
+        return new EmployeeDto(null, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001",
+                LocalDate.of(2019, 8, 20), active);
+    }
+
+    private static Employee inactiveEmployee() {
+        Employee employee = new Employee(1, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001",
+                LocalDate.of(2019, 8, 20));
+        employee.setActive(false);
+        return employee;
+    }
+
+    @Test
+    void updateWithoutActiveKeepsAnInactiveEmployeeInactive() {
+        when(service.getEmployeeById(1)).thenReturn(inactiveEmployee());
+
+        ResponseEntity<Object> response = controller.updateEmployee(1, dto(null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(((EmployeeDto) response.getBody()).active());
+    }
+
+    @Test
+    void updateWithActiveUsesTheValueSent() {
+        ResponseEntity<Object> response = controller.updateEmployee(1, dto(true));
+
+        assertTrue(((EmployeeDto) response.getBody()).active());
+        //No need to look the employee up when the client says what it wants
+        verify(service, never()).getEmployeeById(1);
+    }
+
+    @Test
+    void updateWithoutActiveOfAMissingEmployeeIsNotFound() {
+        ResponseEntity<Object> response = controller.updateEmployee(99, dto(null));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        verify(service, never()).updateEmployee(any());
+    }
+
+    @Test
+    void createWithoutActiveMakesAnActiveEmployee() {
+        ResponseEntity<Object> response = controller.createEmployee(dto(null));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertTrue(((EmployeeDto) response.getBody()).active());
+    }
+}
@@ -0,0 +1,72 @@
+package com.cityhall.dms;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that EmployeeRuntimeHints covers what the native image needs, including
+ * every template and SQL script that is actually on the classpath, so a new
+ * template or migration can't be left out of the binary by accident.
+ */
+class EmployeeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new EmployeeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void entitiesAndConverterAreReflective() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Employee.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DepartmentCount.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LocalDateAttributeConverter.class)
+                .withMemberCategories(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(EmployeeDto.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .test(hints));
+    }
+
+    @Test
+    void classesLoadedByNameAreReflective() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(EmployeeRuntimeHints.SQLITE_DRIVER))
+                .withMemberCategories(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(EmployeeRuntimeHints.SQLITE_DIALECT))
+                .withMemberCategories(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CaffeineCachingProvider.class)
+                .withMemberCategories(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void everyTemplateAndScriptIsIncluded() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (String location : new String[] {"classpath*:templates/*.html", SchemaMigrator.MIGRATION_LOCATION,
+                "classpath*:db/seed/*.sql"}) {
+            Resource[] found = resolver.getResources(location);
+            assertTrue(found.length > 0, location);
+            for (Resource resource : found) {
+                String path = location.substring("classpath*:".length(), location.lastIndexOf('/') + 1)
+                        + resource.getFilename();
+                assertTrue(RuntimeHintsPredicates.resource().forResource(path).test(hints), path);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.cityhall.dms;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks which query a keyword search goes to in "fts" mode.  Keywords with a
+ * non-ASCII letter have to use the LIKE query, because the FTS5 index ignores
+ * case for those letters (so "élise" would find "Élise") while LIKE doesn't.
+ */
+class EmployeeServiceSearchTest {
+
+    private EmployeeRepository repo;
+    private EmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(EmployeeRepository.class);
+        service = new EmployeeService();
+        ReflectionTestUtils.setField(service, "repo", repo);
+        ReflectionTestUtils.setField(service, "searchMode", "fts");
+    }
+
+    @Test
+    void asciiKeywordUsesTheFullTextIndex() {
+        service.searchEmployees("lise");
+
+        verify(repo).searchEmployeesFts("\"lise\"");
+        verify(repo, never()).searchEmployees(anyString());
+    }
+
+    @Test
+    void nonAsciiKeywordUsesLike() {
+        service.searchEmployees("élise");
+
+        verify(repo).searchEmployees("élise");
+        verify(repo, never()).searchEmployeesFts(anyString());
+    }
+}
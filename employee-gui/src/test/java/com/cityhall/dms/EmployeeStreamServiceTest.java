@@ -0,0 +1,105 @@
+package com.cityhall.dms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that EmployeeStreamService reads every row, in ID order and across many
+ * fetches, maps the columns the same way the entity does, and stops as soon as
+ * the writer fails.
+ */
+class EmployeeStreamServiceTest {
+
+    private static final int ROWS = 2500;
+
+    private Connection conn;
+    private EmployeeStreamService streamer;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(conn, true);
+        new SchemaMigrator(dataSource, false).migrate();
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO employee (first_name, last_name, email, "
+                + "department, phone, office_location, hire_date, active) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                ps.setString(1, "First" + i);
+                ps.setString(2, "Last" + i);
+                ps.setString(3, "user" + i + "@city.gov");
+                ps.setString(4, i % 5 == 0 ? "Finance" : "Parks");
+                ps.setString(5, "555-0100");
+                ps.setString(6, "Room " + i);
+                ps.setString(7, i == 1 ? null : "2020-01-15");
+                ps.setInt(8, i % 2);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        //A small fetch size so the rows come in many round trips
+        streamer = new EmployeeStreamService(dataSource, new DataSourceTransactionManager(dataSource), 100);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void everyEmployeeIsStreamedInIdOrder() throws IOException {
+        List<EmployeeDto> seen = new ArrayList<>();
+        long count = streamer.streamEmployees(null, seen::add);
+
+        assertEquals(ROWS, count);
+        assertEquals(ROWS, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1).id() < seen.get(i).id());
+        }
+        EmployeeDto first = seen.get(0);
+        assertEquals("First1", first.firstName());
+        assertEquals("user1@city.gov", first.email());
+        assertNull(first.hireDate());
+        assertTrue(first.active());
+        assertEquals(LocalDate.of(2020, 1, 15), seen.get(1).hireDate());
+        assertFalse(seen.get(1).active());
+    }
+
+    @Test
+    void departmentFilterOnlyStreamsThatDepartment() throws IOException {
+        List<EmployeeDto> seen = new ArrayList<>();
+        long count = streamer.streamEmployees(" Finance ", seen::add);
+
+        assertEquals(ROWS / 5, count);
+        assertTrue(seen.stream().allMatch(e -> "Finance".equals(e.department())));
+    }
+
+    @Test
+    void writerFailureStopsTheStream() {
+        IOException failure = new IOException("client went away");
+        int[] written = new int[1];
+        IOException thrown = assertThrows(IOException.class, () -> streamer.streamEmployees(null, e -> {
+            if (++written[0] == 10) throw failure;
+        }));
+
+        assertSame(failure, thrown);
+        assertEquals(10, written[0]);
+    }
+}
@@ -0,0 +1,109 @@
+package com.cityhall.dms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN QUERY PLAN on the lookups that V2__employee_indexes.sql is meant to speed up
+ * and checks that SQLite uses an index for each of them instead of scanning the table.
+ * The SQL is what Hibernate generates for the matching EmployeeRepository queries.
+ */
+class SchemaIndexTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        new SchemaMigrator(new SingleConnectionDataSource(conn, true), true).migrate();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void emailLookupUsesLowerEmailIndex() throws SQLException {
+        String plan = plan("select e1_0.id from employee e1_0 where lower(e1_0.email)=lower(?)");
+        assertTrue(plan.contains("USING INDEX ux_employee_email_lower"), plan);
+    }
+
+    @Test
+    void departmentLookupUsesDepartmentIndex() throws SQLException {
+        String plan = plan("select e1_0.id from employee e1_0 where e1_0.department=? "
+                + "order by e1_0.last_name,e1_0.first_name,e1_0.id");
+        assertTrue(plan.contains("USING INDEX idx_employee_department_active (department=?)"), plan);
+    }
+
+    @Test
+    void departmentCountRebuildOnlyReadsCoveringIndex() throws SQLException {
+        String plan = plan("""
+                SELECT COALESCE(NULLIF(TRIM(department, char(32, 9, 10, 13)), ''), '(Unknown)') AS dept,
+                       COUNT(*), SUM(CASE WHEN active = 1 THEN 1 ELSE 0 END)
+                FROM employee GROUP BY dept
+                """);
+        assertTrue(plan.contains("USING COVERING INDEX idx_employee_department_active"), plan);
+    }
+
+    @Test
+    void nameOrderUsesNameIndex() throws SQLException {
+        String plan = plan("select * from employee where last_name=? order by last_name, first_name");
+        assertTrue(plan.contains("USING INDEX idx_employee_last_first (last_name=?)"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    @Test
+    void hireDateOrderUsesHireDateIndex() throws SQLException {
+        String plan = plan("select * from employee where hire_date >= ? order by hire_date");
+        assertTrue(plan.contains("USING INDEX idx_employee_hire_date (hire_date>?)"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    @Test
+    void activeFilterUsesActiveIndex() throws SQLException {
+        String plan = plan("select * from employee where active=?");
+        assertTrue(plan.contains("USING INDEX idx_employee_active (active=?)"), plan);
+    }
+
+    @Test
+    void emailsAreUniqueIgnoringCase() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            SQLException ex = assertThrows(SQLException.class, () -> st.executeUpdate(
+                    "INSERT INTO employee (first_name, last_name, email) VALUES ('Dup', 'Licate', 'SMartinez@CityHall.com')"));
+            assertTrue(ex.getMessage().contains("UNIQUE"), ex.getMessage());
+
+            //The import skips the duplicate instead of failing
+            assertEquals(0, st.executeUpdate("INSERT INTO employee (first_name, last_name, email) "
+                    + "VALUES ('Dup', 'Licate', 'smartinez@cityhall.com') ON CONFLICT DO NOTHING"));
+        }
+    }
+
+    /**
+     * Returns the EXPLAIN QUERY PLAN output for a statement, one step per line.
+     */
+    private String plan(String sql) throws SQLException {
+        StringBuilder sb = new StringBuilder();
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                sb.append(rs.getString("detail")).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.cityhall.dms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that SchemaMigrator applies each script once, only seeds a new database
+ * and refuses to run when an applied script no longer matches its checksum.
+ */
+class SchemaMigratorTest {
+
+    private Connection conn;
+    private SingleConnectionDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        dataSource = new SingleConnectionDataSource(conn, true);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void newDatabaseGetsEveryScriptAndTheSeedData() throws SQLException {
+        int applied = new SchemaMigrator(dataSource, true).migrate();
+
+        assertEquals(count("SELECT COUNT(*) FROM schema_version"), applied);
+        assertTrue(applied >= 4, "expected V1 to V4, got " + applied);
+        assertTrue(count("SELECT COUNT(*) FROM employee") > 0);
+        assertEquals(count("SELECT COUNT(*) FROM employee"), count("SELECT SUM(employees) FROM department_count"));
+    }
+
+    @Test
+    void secondRunAppliesNothingAndKeepsTheData() throws SQLException {
+        new SchemaMigrator(dataSource, true).migrate();
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM employee WHERE id > 1");
+        }
+
+        assertEquals(0, new SchemaMigrator(dataSource, true).migrate());
+        assertEquals(1, count("SELECT COUNT(*) FROM employee"));
+    }
+
+    @Test
+    void seedDataCanBeTurnedOff() throws SQLException {
+        new SchemaMigrator(dataSource, false).migrate();
+
+        assertEquals(0, count("SELECT COUNT(*) FROM employee"));
+    }
+
+    @Test
+    void existingTableIsMigratedButNotSeeded() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE employee (id INTEGER PRIMARY KEY AUTOINCREMENT, first_name TEXT NOT NULL, "
+                    + "last_name TEXT NOT NULL, email TEXT NOT NULL, department TEXT, phone TEXT, "
+                    + "office_location TEXT, hire_date TEXT, active INTEGER DEFAULT 1)");
+            st.executeUpdate("INSERT INTO employee (first_name, last_name, email, department) "
+                    + "VALUES ('Ada', 'Lovelace', 'ada@cityhall.gov', 'IT')");
+        }
+
+        new SchemaMigrator(dataSource, true).migrate();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM employee"));
+        assertEquals(1, count("SELECT employees FROM department_count WHERE department = 'IT'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM employee_fts WHERE employee_fts MATCH '\"ovela\"'"));
+    }
+
+    @Test
+    void changedScriptIsRejected() throws SQLException {
+        new SchemaMigrator(dataSource, true).migrate();
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("UPDATE schema_version SET checksum = checksum + 1 WHERE version = 2");
+        }
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> new SchemaMigrator(dataSource, true).migrate());
+        assertTrue(ex.getMessage().contains("V2__employee_indexes.sql"), ex.getMessage());
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cityhall.dms;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that SqliteAccessGuard hands out one permit per thread, gives it back
+ * when the last connection closes and makes other threads wait (then time out).
+ */
+class SqliteAccessGuardTest {
+
+    private final SqliteAccessGuard guard = new SqliteAccessGuard(
+            new DriverManagerDataSource("jdbc:sqlite::memory:"), 1, Duration.ofMillis(200));
+
+    @Test
+    void permitIsReturnedWhenTheConnectionCloses() throws SQLException {
+        try (Connection conn = guard.getConnection()) {
+            assertEquals(0, guard.availablePermits());
+            assertTrue(conn.isValid(1));
+        }
+        assertEquals(1, guard.availablePermits());
+    }
+
+    @Test
+    void sameThreadCanOpenASecondConnection() throws SQLException {
+        try (Connection outer = guard.getConnection()) {
+            try (Connection inner = guard.getConnection()) {
+                assertEquals(0, guard.availablePermits());
+            }
+            assertEquals(0, guard.availablePermits());
+            assertFalse(outer.isClosed());
+        }
+        assertEquals(1, guard.availablePermits());
+    }
+
+    @Test
+    void closingTwiceOnlyReturnsThePermitOnce() throws SQLException {
+        Connection conn = guard.getConnection();
+        conn.close();
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertEquals(1, guard.availablePermits());
+    }
+
+    @Test
+    void otherThreadTimesOutWhileThePermitIsTaken() throws Exception {
+        try (Connection conn = guard.getConnection()) {
+            CompletableFuture<Connection> other = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return guard.getConnection();
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            ExecutionException ex = assertThrows(ExecutionException.class, other::get);
+            assertInstanceOf(SQLTransientConnectionException.class, ex.getCause().getCause());
+        }
+        assertEquals(1, guard.availablePermits());
+    }
+}
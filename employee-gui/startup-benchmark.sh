@@ -0,0 +1,118 @@
+#!/usr/bin/env bash
+# ----------------------------------------------------------------------------
+# Startup benchmark for employee-gui: time from launching the app until the
+# home page answers with HTTP 200 (time to first request), and how much memory
+# (RSS) the process uses at that point.
+#
+# It compares these ways of starting the app:
+#   default     java -jar target/employee-gui-0.0.1-SNAPSHOT.jar
+#   fast-start  the extracted jar in target/fast-start with the CDS archive,
+#               the AOT-generated bean definitions (-Dspring.aot.enabled=true)
+#               and the fast-start profile (lazy beans, ddl-auto=validate)
+#   native      the GraalVM native binary target/employee-gui, only when it
+#               exists (./mvnw -Pnative native:compile)
+#
+# Build first with:   ./mvnw -Pfast-start package
+# Then run:           ./startup-benchmark.sh [runs]      (default 5 runs each)
+# Extra arguments for the app in every mode go in APP_ARGS, for example
+#   APP_ARGS="--dms.cache.enabled=false" ./startup-benchmark.sh
+#
+# Each mode gets its own database in a temp directory.  One untimed start per
+# mode creates and migrates it, so the timed runs are restarts of an existing
+# database, like a kiosk coming back up.
+# ----------------------------------------------------------------------------
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+RUNS=${1:-5}
+PORT=${PORT:-18090}
+JAR=${JAR:-target/employee-gui-0.0.1-SNAPSHOT.jar}
+FAST_DIR=${FAST_DIR:-target/fast-start}
+FAST_JAR=${FAST_JAR:-$FAST_DIR/$(basename "$JAR")}
+CDS_ARCHIVE=${CDS_ARCHIVE:-$FAST_DIR/application.jsa}
+NATIVE_BIN=${NATIVE_BIN:-target/employee-gui}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+read -r -a APP_ARGS <<< "${APP_ARGS:-}"
+
+for f in "$JAR" "$FAST_JAR" "$CDS_ARCHIVE"; do
+    if [ ! -f "$f" ]; then
+        echo "Missing $f - build with ./mvnw -Pfast-start package first" >&2
+        exit 1
+    fi
+done
+
+MODES=(default fast-start)
+if [ -x "$NATIVE_BIN" ]; then
+    MODES+=(native)
+fi
+
+WORK=$(mktemp -d)
+APP_PID=
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null; rm -rf "$WORK"' EXIT
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Resident memory of a process in MB, read from /proc (Linux only)
+rss_mb() {
+    if [ -r "/proc/$1/status" ]; then
+        awk '/^VmRSS:/ { printf "%d", $2 / 1024 }' "/proc/$1/status"
+    else
+        echo "?"
+    fi
+}
+
+# start_once <mode> <db file> : starts the app, waits for the first 200 and prints "<elapsed ms> <RSS MB>"
+start_once() {
+    local mode=$1 db=$2
+    local args=(--server.port="$PORT" --spring.datasource.url="jdbc:sqlite:$db" ${APP_ARGS[@]+"${APP_ARGS[@]}"})
+    local start end rss
+    start=$(now_ms)
+    if [ "$mode" = default ]; then
+        java -jar "$JAR" "${args[@]}" > "$WORK/$mode.log" 2>&1 &
+    elif [ "$mode" = native ]; then
+        "$NATIVE_BIN" "${args[@]}" > "$WORK/$mode.log" 2>&1 &
+    else
+        java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true -jar "$FAST_JAR" \
+            --spring.profiles.active=fast-start "${args[@]}" > "$WORK/$mode.log" 2>&1 &
+    fi
+    APP_PID=$!
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/")" = 200 ]; do
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "$mode: the app exited before answering, see its log:" >&2
+            tail -20 "$WORK/$mode.log" >&2
+            exit 1
+        fi
+        if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+            echo "$mode: no answer after $TIMEOUT_SECONDS s" >&2
+            kill "$APP_PID"
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(now_ms)
+    rss=$(rss_mb "$APP_PID")
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=
+    echo "$(( end - start )) $rss"
+}
+
+for mode in "${MODES[@]}"; do
+    db="$WORK/$mode.db"
+    start_once "$mode" "$db" > /dev/null
+    times=()
+    for run in $(seq 1 "$RUNS"); do
+        result=$(start_once "$mode" "$db")
+        read -r ms rss <<< "$result"
+        times+=("$ms")
+        echo "$mode run $run: ${ms} ms, RSS ${rss} MB"
+    done
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    echo "$mode: min ${sorted[0]} ms, median ${sorted[$(( RUNS / 2 ))]} ms, max ${sorted[$(( RUNS - 1 ))]} ms"
+    echo
+done
@@ -0,0 +1,79 @@
+package com.cityhall.dms;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmailValidator.java
+ * The email check used by both EmployeeService classes (console and web).
+ * It accepts and rejects exactly the same emails as the old email.matches(".+@.+\\..+") check:
+ * some text, an @, some more text, a dot, and at least one more character, with no line breaks anywhere.
+ * The difference is that it looks at each character once, doesn't build a regex on every call, and can't get
+ * stuck backtracking on a long weird input.  Instead of printing, it returns a Result saying what was wrong.
+ */
+
+public final class EmailValidator {
+
+    //What the check found.  Only VALID means the email is OK.
+    public enum Result {
+        VALID("Email is valid."),
+        BLANK("Email cannot be blank."),
+        MISSING_NAME_OR_AT("Invalid email format. Please use something like name@domain.com"),
+        MISSING_DOMAIN_DOT("Invalid email format. Please use something like name@domain.com"),
+        LINE_BREAK("Email cannot contain line breaks.");
+
+        private final String message;
+
+        Result(String message) {
+            this.message = message;
+        }
+
+        //A message that can be shown to the user
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean isValid() {
+            return this == VALID;
+        }
+    }
+
+    private EmailValidator() {
+    }
+
+    //The below checks one email address in a single pass over its characters
+    public static Result check(String email) {
+        if (email == null || email.isBlank()) {
+            return Result.BLANK;
+        }
+
+        int length = email.length();
+        int firstAt = -1;   //first @ that has at least one character before it
+        int lastDot = -1;   //last . that has at least one character after it
+
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (firstAt < 0 && i > 0) firstAt = i;
+            } else if (c == '.') {
+                if (i < length - 1) lastDot = i;
+            } else if (isLineBreak(c)) {
+                //The regex "." never matches a line break, so one anywhere fails the whole email
+                return Result.LINE_BREAK;
+            }
+        }
+
+        if (firstAt < 0) {
+            return Result.MISSING_NAME_OR_AT;
+        }
+        //There has to be at least one character between the @ and the dot
+        if (lastDot < firstAt + 2) {
+            return Result.MISSING_DOMAIN_DOT;
+        }
+        return Result.VALID;
+    }
+
+    //The same characters java.util.regex treats as line terminators for "."
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
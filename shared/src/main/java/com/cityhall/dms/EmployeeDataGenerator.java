@@ -0,0 +1,326 @@
+package com.cityhall.dms;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeDataGenerator.java
+ * Makes up as many fake employees as you want for load testing, in the TXT import format or as SQLite
+ * INSERT statements that match the web app's employee table (db/migration/V1__create_employee.sql).
+ * The same seed always gives the same employees.  The numbers are lopsided the way a real city is: a few big
+ * departments (Police, Public Works, Fire Rescue) hold most of the staff, some last names are far more common
+ * than others, and most people were hired in the last several years.
+ * Rows are written one at a time as they're made, so 10 million rows need no more memory than 10.
+ *
+ * Usage: java com.cityhall.dms.EmployeeDataGenerator --rows 1000000 [--format txt|sql] [--seed 42] [--out file]
+ */
+
+public class EmployeeDataGenerator {
+
+    //The below is one generated employee
+    public static class Row {
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final String department;
+        private final String phone;
+        private final String officeLocation;
+        private final LocalDate hireDate;
+        private final boolean active;
+
+        Row(String firstName, String lastName, String email, String department, String phone,
+            String officeLocation, LocalDate hireDate, boolean active) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.department = department;
+            this.phone = phone;
+            this.officeLocation = officeLocation;
+            this.hireDate = hireDate;
+            this.active = active;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getDepartment() {
+            return department;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public String getOfficeLocation() {
+            return officeLocation;
+        }
+
+        public LocalDate getHireDate() {
+            return hireDate;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        //The below builds this row as one of the app's own Employee objects
+        public <T> T to(EmployeeTxtParser.RowFactory<T> factory) {
+            return factory.create(firstName, lastName, email, department, phone, officeLocation, hireDate);
+        }
+    }
+
+    //Departments, their office codes, and roughly what share of the staff works in each one
+    private static final String[] DEPARTMENTS = {"Police", "Public Works", "Fire Rescue", "Parks & Recreation",
+            "Utilities", "Community Development", "Finance", "Information Technology", "Human Resources",
+            "Procurement", "Communications", "Economic Development", "City Manager"};
+    private static final String[] OFFICE_CODES = {"PD", "PW", "FR", "PR", "UT", "CD", "FN", "IT", "HR", "PC",
+            "CS", "ED", "CM"};
+    private static final double[] DEPARTMENT_WEIGHTS = {24, 18, 14, 9, 8, 6, 5, 4, 3, 3, 2, 2, 2};
+
+    //Names, most common first.  Picks follow a Zipf curve, so the first few names show up far more than the rest.
+    private static final String[] FIRST_NAMES = {"Michael", "Maria", "James", "Jennifer", "David", "Jessica",
+            "Robert", "Ashley", "Carlos", "Sarah", "Daniel", "Emily", "Jose", "Sophia", "Christopher", "Olivia",
+            "John", "Isabella", "Anthony", "Ana", "Kevin", "Priya", "Luis", "Chloe", "Brian", "Natalie", "Ethan",
+            "Maya", "Andre", "Gianna", "Marcus", "Sofia", "Hiroshi", "Mohammed", "Julien", "Noah", "Victor", "Emma",
+            "Tyrone", "Mei"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Garcia", "Rodriguez", "Williams", "Martinez",
+            "Brown", "Hernandez", "Lopez", "Jones", "Gonzalez", "Davis", "Perez", "Miller", "Nguyen", "Wilson",
+            "Sanchez", "Anderson", "Ramirez", "Thomas", "Lee", "Clark", "Romero", "Kim", "Taylor", "Moore",
+            "Jackson", "O'Brien", "Sharma", "Fischer", "Silva", "Russo", "Tanaka", "Ali", "Dupont", "Petrov",
+            "Bennett", "Patel", "Walker", "Diaz"};
+
+    private static final double ZIPF_EXPONENT = 0.7;
+
+    //Hire dates count back from here (a fixed date, so the output doesn't change from day to day)
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 1);
+    private static final double MEAN_TENURE_YEARS = 7.0;
+    private static final int MAX_TENURE_YEARS = 40;
+
+    //Share of employees that have left (active = 0)
+    private static final double INACTIVE_SHARE = 0.08;
+
+    //The SQL output commits every this many rows so SQLite's journal doesn't grow without limit
+    private static final long ROWS_PER_TRANSACTION = 100_000;
+    private static final int DEFAULT_ROWS_PER_INSERT = 500;
+
+    private static final String INSERT_HEADER = "INSERT INTO employee (first_name, last_name, email, department, "
+            + "phone, office_location, hire_date, active) VALUES\n";
+
+    private static final double[] DEPARTMENT_CDF = cumulative(DEPARTMENT_WEIGHTS);
+    private static final double[] FIRST_NAME_CDF = cumulative(zipfWeights(FIRST_NAMES.length));
+    private static final double[] LAST_NAME_CDF = cumulative(zipfWeights(LAST_NAMES.length));
+
+    private final Random random;
+    private long rowNumber = 0;
+
+    public EmployeeDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    //The below makes the next employee.  Emails end in the row number so every one of them is unique.
+    public Row next() {
+        rowNumber++;
+        String first = FIRST_NAMES[pick(FIRST_NAME_CDF)];
+        String last = LAST_NAMES[pick(LAST_NAME_CDF)];
+        int dept = pick(DEPARTMENT_CDF);
+
+        String email = Character.toLowerCase(first.charAt(0)) + emailPart(last) + rowNumber + "@cityhall.com";
+        String phone = zeroPad(random.nextInt(10_000), 4);
+        String office = OFFICE_CODES[dept] + "-" + zeroPad(random.nextInt(1_000), 3);
+
+        //Time since hire follows an exponential curve: lots of newer hires, a long tail of veterans
+        double years = Math.min(-Math.log(1 - random.nextDouble()) * MEAN_TENURE_YEARS, MAX_TENURE_YEARS);
+        LocalDate hire = AS_OF.minusDays((long) (years * 365.25));
+
+        boolean active = random.nextDouble() >= INACTIVE_SHARE;
+        return new Row(first, last, email, DEPARTMENTS[dept], phone, office, hire, active);
+    }
+
+    //The below writes rows in the TXT format: FirstName,LastName,Email,Department,Phone,OfficeLocation,HireDate
+    public void writeTxt(Writer out, long rows) throws IOException {
+        for (long i = 0; i < rows; i++) {
+            Row r = next();
+            out.write(r.firstName);
+            out.write(',');
+            out.write(r.lastName);
+            out.write(',');
+            out.write(r.email);
+            out.write(',');
+            out.write(r.department);
+            out.write(',');
+            out.write(r.phone);
+            out.write(',');
+            out.write(r.officeLocation);
+            out.write(',');
+            out.write(r.hireDate.toString());
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    //The below writes rows as multi-row INSERT statements for the employee table in V1__create_employee.sql.
+    //rowsPerInsert has to be at least 1 (with 0 no INSERT would ever add a row and this would never finish).
+    public void writeSql(Writer out, long rows, int rowsPerInsert) throws IOException {
+        if (rows < 0) {
+            throw new IllegalArgumentException("rows can't be negative: " + rows);
+        }
+        if (rowsPerInsert < 1) {
+            throw new IllegalArgumentException("rowsPerInsert must be at least 1: " + rowsPerInsert);
+        }
+        out.write("--Generated by EmployeeDataGenerator: " + rows + " employees\n");
+        for (long written = 0; written < rows; ) {
+            if (written % ROWS_PER_TRANSACTION == 0) {
+                out.write("BEGIN TRANSACTION;\n");
+            }
+            long inThisInsert = Math.min(rowsPerInsert, rows - written);
+            //Never let one INSERT cross a COMMIT
+            inThisInsert = Math.min(inThisInsert, ROWS_PER_TRANSACTION - written % ROWS_PER_TRANSACTION);
+
+            out.write(INSERT_HEADER);
+            for (long i = 0; i < inThisInsert; i++) {
+                Row r = next();
+                out.write(i == 0 ? "(" : ",\n(");
+                out.write(sqlString(r.firstName));
+                out.write(", ");
+                out.write(sqlString(r.lastName));
+                out.write(", ");
+                out.write(sqlString(r.email));
+                out.write(", ");
+                out.write(sqlString(r.department));
+                out.write(", ");
+                out.write(sqlString(r.phone));
+                out.write(", ");
+                out.write(sqlString(r.officeLocation));
+                out.write(", '");
+                out.write(r.hireDate.toString());
+                out.write(r.active ? "', 1)" : "', 0)");
+            }
+            out.write(";\n");
+            written += inThisInsert;
+
+            if (written % ROWS_PER_TRANSACTION == 0 || written == rows) {
+                out.write("COMMIT;\n");
+            }
+        }
+        out.flush();
+    }
+
+    public static void main(String[] args) throws IOException {
+        long rows = 10_000;
+        long seed = 42;
+        String format = "txt";
+        String outFile = null;
+        int rowsPerInsert = DEFAULT_ROWS_PER_INSERT;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--rows" -> rows = Long.parseLong(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--format" -> format = value;
+                case "--out" -> outFile = value;
+                case "--rows-per-insert" -> rowsPerInsert = Integer.parseInt(value);
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Usage: EmployeeDataGenerator --rows N [--format txt|sql] [--seed S] "
+                            + "[--out file] [--rows-per-insert N]");
+                    System.exit(2);
+                }
+            }
+            i++;
+        }
+        if (rows < 0) {
+            System.err.println("--rows can't be negative: " + rows);
+            System.exit(2);
+        }
+        if (rowsPerInsert < 1) {
+            System.err.println("--rows-per-insert must be at least 1: " + rowsPerInsert);
+            System.exit(2);
+        }
+        if (!"txt".equalsIgnoreCase(format) && !"sql".equalsIgnoreCase(format)) {
+            System.err.println("Unknown format: " + format + " (use txt or sql)");
+            System.exit(2);
+        }
+
+        OutputStream stream = outFile == null ? System.out : Files.newOutputStream(Paths.get(outFile));
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 20)) {
+            EmployeeDataGenerator generator = new EmployeeDataGenerator(seed);
+            if ("sql".equalsIgnoreCase(format)) {
+                generator.writeSql(out, rows, rowsPerInsert);
+            } else {
+                generator.writeTxt(out, rows);
+            }
+        }
+    }
+
+    //The below picks an index using a cumulative weight table (binary search, so big tables stay fast)
+    private int pick(double[] cdf) {
+        double x = random.nextDouble() * cdf[cdf.length - 1];
+        int lo = 0;
+        int hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] > x) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    private static double[] zipfWeights(int n) {
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        return cdf;
+    }
+
+    //Emails only get letters (O'Brien -> obrien)
+    private static String emailPart(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetter(c)) sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    //String.format is slow enough to show up at 10 million rows, so pad by hand
+    private static String zeroPad(int value, int width) {
+        String digits = Integer.toString(value);
+        return digits.length() >= width ? digits : "0".repeat(width - digits.length()) + digits;
+    }
+
+    //Quotes a value for SQL, doubling any single quotes inside it
+    private static String sqlString(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
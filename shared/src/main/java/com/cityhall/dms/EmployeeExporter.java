@@ -0,0 +1,259 @@
+package com.cityhall.dms;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeExporter.java
+ * Writes employees out as CSV, NDJSON (one JSON object per line) or SQLite INSERT statements, optionally gzipped.
+ * Used by the console app's export menu option and the web app's /export download.
+ * Each employee is written as soon as it's handed over and nothing is kept afterwards, so exporting a million
+ * employees takes the same memory as exporting ten (just the write buffer).  The caller decides where the
+ * employees come from: the console app walks its in-memory list, the web app walks a database cursor.
+ *
+ * The SQL output matches the employee table in db/migration/V1__create_employee.sql and keeps the IDs, so it can
+ * be loaded back into an empty database with: sqlite3 employee.db < employees.sql
+ */
+
+public class EmployeeExporter implements Closeable {
+
+    //The formats we can write, with the file extension and content type to use for each
+    public enum Format {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson"),
+        SQL("sql", "application/sql");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        //Looks a format up by name ("csv", "ndjson", "sql", any case).  Returns null if it isn't one of ours.
+        public static Format fromName(String name) {
+            if (name == null) return null;
+            for (Format f : values()) {
+                if (f.name().equalsIgnoreCase(name.trim()) || f.extension.equalsIgnoreCase(name.trim())) return f;
+            }
+            return null;
+        }
+    }
+
+    //Content type for a gzipped export (whatever the format inside is)
+    public static final String GZIP_CONTENT_TYPE = "application/gzip";
+
+    //The SQL output commits every this many rows so SQLite's journal doesn't grow without limit
+    private static final long ROWS_PER_TRANSACTION = 100_000;
+
+    private static final String CSV_HEADER = "id,first_name,last_name,email,department,phone,office_location,"
+            + "hire_date,active\n";
+
+    private static final String INSERT_HEADER = "INSERT INTO employee (id, first_name, last_name, email, "
+            + "department, phone, office_location, hire_date, active) VALUES (";
+
+    //Big enough that writes reach the stream in large pieces, small enough not to matter
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Format format;
+    private final GZIPOutputStream gzip;
+    private final Writer out;
+    private long rows = 0;
+    private boolean finished = false;
+
+    //Starts an export on the given stream (and writes the CSV header or the SQL comment right away)
+    public EmployeeExporter(OutputStream target, Format format, boolean gzipped) throws IOException {
+        this.format = format;
+        this.gzip = gzipped ? new GZIPOutputStream(target, BUFFER_SIZE) : null;
+        this.out = new BufferedWriter(new OutputStreamWriter(gzipped ? gzip : target, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+        } else if (format == Format.SQL) {
+            out.write("--Exported from the com.cityhall.dms.Employee Directory\n");
+        }
+    }
+
+    //The file name to suggest for an export, e.g. employees.csv or employees.sql.gz
+    public static String fileName(String baseName, Format format, boolean gzipped) {
+        return baseName + "." + format.getExtension() + (gzipped ? ".gz" : "");
+    }
+
+    //The below writes one employee.  The id can be null (written as an empty CSV field, JSON null or SQL NULL).
+    public void write(Integer id, String firstName, String lastName, String email, String department, String phone,
+                      String officeLocation, LocalDate hireDate, boolean active) throws IOException {
+        switch (format) {
+            case CSV -> writeCsv(id, firstName, lastName, email, department, phone, officeLocation, hireDate, active);
+            case NDJSON -> writeJson(id, firstName, lastName, email, department, phone, officeLocation, hireDate,
+                    active);
+            case SQL -> writeSql(id, firstName, lastName, email, department, phone, officeLocation, hireDate, active);
+        }
+        rows++;
+    }
+
+    //How many employees have been written so far
+    public long getRows() {
+        return rows;
+    }
+
+    //The below ends the export (closes the last SQL transaction, writes the gzip trailer) but leaves the stream open,
+    //e.g. for a web response that the server closes itself.  Safe to call more than once.
+    public void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        if (format == Format.SQL && rows % ROWS_PER_TRANSACTION != 0) {
+            out.write("COMMIT;\n");
+        }
+        out.flush();
+        if (gzip != null) gzip.finish();
+    }
+
+    //The below ends the export and closes the stream
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    //CSV: one line per employee, fields quoted only when they need it
+    private void writeCsv(Integer id, String firstName, String lastName, String email, String department,
+                          String phone, String officeLocation, LocalDate hireDate, boolean active) throws IOException {
+        if (id != null) out.write(Integer.toString(id));
+        out.write(',');
+        csvField(firstName);
+        out.write(',');
+        csvField(lastName);
+        out.write(',');
+        csvField(email);
+        out.write(',');
+        csvField(department);
+        out.write(',');
+        csvField(phone);
+        out.write(',');
+        csvField(officeLocation);
+        out.write(',');
+        if (hireDate != null) out.write(hireDate.toString());
+        out.write(active ? ",true\n" : ",false\n");
+    }
+
+    //Quotes a CSV field (and doubles the quotes inside it) if it has a comma, quote or line break in it
+    private void csvField(String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (quote) {
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(value);
+        }
+    }
+
+    //NDJSON: the same field names the web app's JSON API uses
+    private void writeJson(Integer id, String firstName, String lastName, String email, String department,
+                           String phone, String officeLocation, LocalDate hireDate, boolean active) throws IOException {
+        out.write("{\"id\":");
+        out.write(id == null ? "null" : Integer.toString(id));
+        out.write(",\"firstName\":");
+        jsonString(firstName);
+        out.write(",\"lastName\":");
+        jsonString(lastName);
+        out.write(",\"email\":");
+        jsonString(email);
+        out.write(",\"department\":");
+        jsonString(department);
+        out.write(",\"phone\":");
+        jsonString(phone);
+        out.write(",\"officeLocation\":");
+        jsonString(officeLocation);
+        out.write(",\"hireDate\":");
+        jsonString(hireDate == null ? null : hireDate.toString());
+        out.write(active ? ",\"active\":true}\n" : ",\"active\":false}\n");
+    }
+
+    //Writes a JSON string, escaping quotes, backslashes and control characters
+    private void jsonString(String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+
+    //SQL: one INSERT per employee, committed every ROWS_PER_TRANSACTION rows
+    private void writeSql(Integer id, String firstName, String lastName, String email, String department,
+                          String phone, String officeLocation, LocalDate hireDate, boolean active) throws IOException {
+        if (rows % ROWS_PER_TRANSACTION == 0) {
+            out.write("BEGIN TRANSACTION;\n");
+        }
+        out.write(INSERT_HEADER);
+        out.write(id == null ? "NULL" : Integer.toString(id));
+        out.write(", ");
+        out.write(sqlString(firstName));
+        out.write(", ");
+        out.write(sqlString(lastName));
+        out.write(", ");
+        out.write(sqlString(email));
+        out.write(", ");
+        out.write(sqlString(department));
+        out.write(", ");
+        out.write(sqlString(phone));
+        out.write(", ");
+        out.write(sqlString(officeLocation));
+        out.write(", ");
+        out.write(sqlString(hireDate == null ? null : hireDate.toString()));
+        out.write(active ? ", 1);\n" : ", 0);\n");
+        if ((rows + 1) % ROWS_PER_TRANSACTION == 0) {
+            out.write("COMMIT;\n");
+        }
+    }
+
+    //Quotes a value for SQL, doubling any single quotes inside it
+    private static String sqlString(String value) {
+        return value == null ? "NULL" : "'" + value.replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,433 @@
+package com.cityhall.dms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeTxtParser.java
+ * The one TXT parser shared by the console app (EmployeeApp) and the web app (EmployeeImportService).
+ * Each line looks like: FirstName,LastName,Email,Department,Phone,OfficeLocation,HireDate
+ *
+ * Instead of String.split() (a regex, an array, and a trimmed copy of every field) it walks the raw UTF-8 bytes
+ * looking for commas and only turns the 7 field values into Strings.  Big inputs are cut into chunks at line
+ * breaks and the chunks are parsed at the same time on a fork-join pool.  Really big files can be memory-mapped
+ * (parseMapped) so the bytes never get copied into the Java heap at all.  Bad lines don't get printed, they get
+ * collected as LineErrors so the caller can decide what to show.
+ *
+ * Both modules have their own Employee class, so the caller passes in a RowFactory that builds one.
+ */
+
+public class EmployeeTxtParser<T> {
+
+    //The below builds one employee object from the parsed fields (each module has its own Employee class)
+    @FunctionalInterface
+    public interface RowFactory<T> {
+        T create(String firstName, String lastName, String email, String department, String phone,
+                 String officeLocation, LocalDate hireDate);
+    }
+
+    //One line that couldn't be parsed, with its line number (starting at 1) and the reason why
+    public static class LineError {
+        private final long lineNumber;
+        private final String reason;
+        private final String line;
+
+        public LineError(long lineNumber, String reason, String line) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+            this.line = line;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public String getLine() {
+            return line;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + ": " + reason + " at " + line;
+        }
+    }
+
+    //What came out of parsing some input: the employees (in file order), the bad lines, and how many lines there were
+    public static class Result<T> {
+        private final List<T> employees;
+        private final List<LineError> errors;
+        private final long lines;
+
+        public Result(List<T> employees, List<LineError> errors, long lines) {
+            this.employees = employees;
+            this.errors = errors;
+            this.lines = lines;
+        }
+
+        public List<T> getEmployees() {
+            return employees;
+        }
+
+        public List<LineError> getErrors() {
+            return errors;
+        }
+
+        public long getLines() {
+            return lines;
+        }
+    }
+
+    public static final String NOT_ENOUGH_FIELDS = "not enough fields";
+    public static final String BAD_DATE = "bad hire date";
+
+    //One formatter for everybody (DateTimeFormatter is immutable and thread safe)
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    //Inputs smaller than this aren't worth splitting up
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+
+    //Default block size when reading from a stream
+    private static final int STREAM_BLOCK_BYTES = 8 << 20;
+
+    //Files at least this big are worth memory-mapping instead of reading into the heap
+    public static final long MAPPED_THRESHOLD_BYTES = 64L << 20;
+
+    //Largest piece of a file mapped at one time (one mapping can't be bigger than 2GB)
+    private static final long MAP_WINDOW_BYTES = 1L << 30;
+
+    private static final int FIELDS = 7;
+
+    private final RowFactory<T> factory;
+    private final ForkJoinPool pool;
+
+    public EmployeeTxtParser(RowFactory<T> factory) {
+        this(factory, ForkJoinPool.commonPool());
+    }
+
+    public EmployeeTxtParser(RowFactory<T> factory, ForkJoinPool pool) {
+        this.factory = factory;
+        this.pool = pool;
+    }
+
+    //The below parses a whole file
+    public Result<T> parse(Path file) throws IOException {
+        return parse(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    //The below parses everything between the buffer's position and limit
+    public Result<T> parse(ByteBuffer data) {
+        return parse(data, data.position(), data.limit(), 0);
+    }
+
+    /**
+     * Reads a stream block by block (each block cut at the last line break) and hands the result of every block
+     * to the sink as soon as it's parsed.  Memory use depends on the block size, not on the size of the stream.
+     */
+    public void parse(InputStream in, Consumer<Result<T>> sink) throws IOException {
+        parse(in, STREAM_BLOCK_BYTES, sink);
+    }
+
+    //Same as above with a chosen block size (the tests use tiny blocks to hit the edge cases)
+    void parse(InputStream in, int blockBytes, Consumer<Result<T>> sink) throws IOException {
+        byte[] block = new byte[blockBytes];
+        int filled = 0;
+        long linesBefore = 0;
+
+        while (true) {
+            int n = in.read(block, filled, block.length - filled);
+            if (n < 0) break;
+            filled += n;
+            if (filled < block.length) continue;
+
+            int cut = lastLineBreak(ByteBuffer.wrap(block), filled);
+            if (cut < 0) {
+                //One line is longer than the whole block, so make room and keep reading
+                if (block.length > Integer.MAX_VALUE / 2) {
+                    throw new IOException("Line longer than " + block.length + " bytes after line " + linesBefore);
+                }
+                block = Arrays.copyOf(block, block.length * 2);
+                continue;
+            }
+            Result<T> r = parse(ByteBuffer.wrap(block), 0, cut + 1, linesBefore);
+            linesBefore += r.getLines();
+            sink.accept(r);
+
+            //Move the partial line at the end to the front of the block
+            filled -= cut + 1;
+            System.arraycopy(block, cut + 1, block, 0, filled);
+        }
+        if (filled > 0) {
+            sink.accept(parse(ByteBuffer.wrap(block), 0, filled, linesBefore));
+        }
+    }
+
+    /**
+     * Memory-maps the file (a window of up to 1GB at a time, each window cut at its last line break) and hands the
+     * result of every window to the sink.  The OS pages the file in as we scan it, so multi-GB files work and
+     * nothing but the field values gets copied.
+     */
+    public void parseMapped(Path file, Consumer<Result<T>> sink) throws IOException {
+        parseMapped(file, MAP_WINDOW_BYTES, sink);
+    }
+
+    //Same as above with a chosen window size (the tests use tiny windows to hit the edge cases)
+    void parseMapped(Path file, long windowBytes, Consumer<Result<T>> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long pos = 0;
+            long linesBefore = 0;
+
+            while (pos < size) {
+                long length = Math.min(windowBytes, size - pos);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+                int end = (int) length;
+                if (pos + length < size) {
+                    //Stop at the last full line, the rest gets mapped again with the next window
+                    int cut = lastLineBreak(window, end);
+                    if (cut < 0) {
+                        throw new IOException("Line longer than " + windowBytes + " bytes at offset " + pos);
+                    }
+                    end = cut + 1;
+                }
+                Result<T> r = parse(window, 0, end, linesBefore);
+                linesBefore += r.getLines();
+                sink.accept(r);
+                pos += end;
+            }
+        }
+    }
+
+    //The below parses one line of text.  Returns null (and adds to errors) if the line is bad or blank.
+    public T parseLine(String line, long lineNumber, List<LineError> errors) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        Chunk c = new Chunk(ByteBuffer.wrap(bytes), 0, bytes.length);
+        List<T> out = new ArrayList<>(1);
+        c.parseLine(0, bytes.length, lineNumber, out);
+        errors.addAll(c.errors);
+        return out.isEmpty() ? null : out.get(0);
+    }
+
+    private Result<T> parse(ByteBuffer data, int from, int to, long linesBefore) {
+        int size = to - from;
+        int parallelism = pool.getParallelism();
+        int chunkCount = Math.max(1, Math.min(size / MIN_CHUNK_BYTES, parallelism * 4));
+
+        //Cut the input into roughly equal chunks, moving each cut forward to just after a line break
+        List<Chunk> chunks = new ArrayList<>(chunkCount);
+        int start = from;
+        for (int i = 1; i <= chunkCount && start < to; i++) {
+            int end = (i == chunkCount) ? to : nextLineStart(data, from + (int) ((long) size * i / chunkCount), to);
+            if (end > start) {
+                chunks.add(new Chunk(data, start, end));
+                start = end;
+            }
+        }
+
+        if (chunks.size() == 1) {
+            chunks.get(0).compute();
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks.size());
+            for (Chunk c : chunks) {
+                tasks.add(pool.submit(c::compute));
+            }
+            for (ForkJoinTask<?> t : tasks) {
+                t.join();
+            }
+        }
+
+        //Stitch the chunks back together in file order, fixing up the line numbers as we go
+        int total = 0;
+        int totalErrors = 0;
+        for (Chunk c : chunks) {
+            total += c.rows.size();
+            totalErrors += c.errors.size();
+        }
+        List<T> rows = new ArrayList<>(total);
+        List<LineError> errors = totalErrors == 0 ? Collections.emptyList() : new ArrayList<>(totalErrors);
+        long lines = linesBefore;
+        for (Chunk c : chunks) {
+            rows.addAll(c.rows);
+            for (LineError e : c.errors) {
+                errors.add(new LineError(lines + e.getLineNumber(), e.getReason(), e.getLine()));
+            }
+            lines += c.lines;
+        }
+        return new Result<>(rows, errors, lines - linesBefore);
+    }
+
+    //Line breaks are \n, \r\n or a lone \r (old Mac files), the same as Chunk.compute() reads them.
+    //A cut never goes between the \r and \n of a \r\n, or that would count as two lines.
+
+    private static int nextLineStart(ByteBuffer data, int pos, int to) {
+        while (pos < to) {
+            byte b = data.get(pos);
+            if (b == '\n' || (b == '\r' && pos + 1 < to && data.get(pos + 1) != '\n')) break;
+            pos++;
+        }
+        return Math.min(pos + 1, to);
+    }
+
+    //Returns the position of the last line break in data[0..filled), or -1 if there isn't one
+    private static int lastLineBreak(ByteBuffer data, int filled) {
+        for (int i = filled - 1; i >= 0; i--) {
+            byte b = data.get(i);
+            if (b == '\n') return i;
+            //A \r right at the end could still be followed by a \n we haven't seen yet, so don't cut there
+            if (b == '\r' && i < filled - 1) return i;
+        }
+        return -1;
+    }
+
+    //The below parses one piece of the input.  Line numbers inside a chunk start at 1.
+    private class Chunk {
+        private final ByteBuffer data;
+        private final int from;
+        private final int to;
+        private final List<T> rows = new ArrayList<>();
+        private final List<LineError> errors = new ArrayList<>();
+        private long lines;
+
+        //Start/end of each field on the current line, reused for every line
+        private final int[] bounds = new int[FIELDS * 2];
+
+        //Scratch space for copying field bytes out of buffers that don't have an array (like mapped files)
+        private byte[] scratch = new byte[256];
+
+        Chunk(ByteBuffer data, int from, int to) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+        }
+
+        void compute() {
+            int lineStart = from;
+            for (int i = from; i < to; i++) {
+                byte b = data.get(i);
+                if (b == '\n' || b == '\r') {
+                    lines++;
+                    parseLine(lineStart, i, lines, rows);
+                    //Treat \r\n as one line break
+                    if (b == '\r' && i + 1 < to && data.get(i + 1) == '\n') i++;
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < to) {
+                lines++;
+                parseLine(lineStart, to, lines, rows);
+            }
+        }
+
+        void parseLine(int start, int end, long lineNumber, List<T> out) {
+            if (isBlank(start, end)) return;
+
+            //Find the first 7 comma separated fields.  Anything after the 7th field is ignored.
+            int field = 0;
+            int fieldStart = start;
+            for (int i = start; i < end && field < FIELDS - 1; i++) {
+                if (data.get(i) == ',') {
+                    bounds[field * 2] = fieldStart;
+                    bounds[field * 2 + 1] = i;
+                    field++;
+                    fieldStart = i + 1;
+                }
+            }
+            if (field < FIELDS - 1) {
+                errors.add(new LineError(lineNumber, NOT_ENOUGH_FIELDS, text(start, end)));
+                return;
+            }
+            int lastEnd = fieldStart;
+            while (lastEnd < end && data.get(lastEnd) != ',') lastEnd++;
+            bounds[12] = fieldStart;
+            bounds[13] = lastEnd;
+
+            LocalDate hireDate = parseDate(bounds[12], bounds[13]);
+            if (hireDate == null) {
+                errors.add(new LineError(lineNumber, BAD_DATE, text(start, end)));
+                return;
+            }
+
+            out.add(factory.create(field(0), field(1), field(2), field(3), field(4), field(5), hireDate));
+        }
+
+        //Decodes one field as UTF-8, with spaces trimmed off both ends (same as String.trim())
+        private String field(int index) {
+            int s = bounds[index * 2];
+            int e = bounds[index * 2 + 1];
+            while (s < e && (data.get(s) & 0xFF) <= ' ') s++;
+            while (e > s && (data.get(e - 1) & 0xFF) <= ' ') e--;
+            return text(s, e);
+        }
+
+        private LocalDate parseDate(int s, int e) {
+            while (s < e && (data.get(s) & 0xFF) <= ' ') s++;
+            while (e > s && (data.get(e - 1) & 0xFF) <= ' ') e--;
+
+            //Fast path for the normal yyyy-MM-dd case, no String needed.  Days up to 28 are valid in every month,
+            //anything trickier goes through the formatter so the rules stay exactly the same.
+            if (e - s == 10 && data.get(s + 4) == '-' && data.get(s + 7) == '-') {
+                int year = digits(s, 4);
+                int month = digits(s + 5, 2);
+                int day = digits(s + 8, 2);
+                if (year > 0 && month >= 1 && month <= 12 && day >= 1 && day <= 28) {
+                    return LocalDate.of(year, month, day);
+                }
+            }
+            try {
+                return LocalDate.parse(text(s, e), DATE_FMT);
+            } catch (DateTimeParseException ex) {
+                return null;
+            }
+        }
+
+        private int digits(int s, int count) {
+            int v = 0;
+            for (int i = s; i < s + count; i++) {
+                int d = data.get(i) - '0';
+                if (d < 0 || d > 9) return -1;
+                v = v * 10 + d;
+            }
+            return v;
+        }
+
+        private boolean isBlank(int s, int e) {
+            for (int i = s; i < e; i++) {
+                if ((data.get(i) & 0xFF) > ' ') return false;
+            }
+            return true;
+        }
+
+        private String text(int s, int e) {
+            int len = e - s;
+            if (len == 0) return "";
+            if (data.hasArray()) {
+                return new String(data.array(), data.arrayOffset() + s, len, StandardCharsets.UTF_8);
+            }
+            if (scratch.length < len) scratch = new byte[Math.max(len, scratch.length * 2)];
+            data.get(s, scratch, 0, len);
+            return new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+    }
+}
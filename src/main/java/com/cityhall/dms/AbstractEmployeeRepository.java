@@ -0,0 +1,103 @@
+package com.cityhall.dms;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.AbstractEmployeeRepository.java
+ * What com.cityhall.dms.EmployeeService needs from a place to keep employees, plus the few helpers both kinds share
+ * (the keyword match, the search trigrams, copying an employee).  There are two of them:
+ * - com.cityhall.dms.EmployeeRepository, the normal single threaded one used by the console menu
+ * - com.cityhall.dms.ConcurrentEmployeeRepository, for batch jobs that work from several threads at once
+ * Neither one carries the other's lists and indexes around.
+ */
+
+public abstract class AbstractEmployeeRepository {
+
+    //The below gives the employee the next free ID and stores them
+    public abstract boolean addEmployee(Employee e);
+
+    //The below puts an employee in with the ID it already has, updating whoever has that ID (used by journal replay)
+    public abstract void putEmployee(Employee e);
+
+    //The below replaces everyone with employees read back from a snapshot, keeping their IDs
+    public abstract void restoreEmployees(List<Employee> restored, int nextId);
+
+    //The ID the next new employee will get
+    public abstract int getNextId();
+
+    //Everyone, in the order they were added (increasing ID)
+    public abstract List<Employee> getAllEmployees();
+
+    //How many employees there are, without copying the list like getAllEmployees() does
+    public abstract int size();
+
+    //Something that is handed employees one at a time (allowed to throw an IOException, e.g. while writing them out)
+    public interface EmployeeVisitor {
+        void visit(Employee e) throws IOException;
+    }
+
+    //The below hands everyone to the visitor in ID order without copying the list first.  The visitor must not
+    //add, change or delete employees while this runs.
+    public abstract void forEach(EmployeeVisitor visitor) throws IOException;
+
+    //Null if there is no employee with that ID
+    public abstract Employee getEmployeeById(int id);
+
+    //False if there is no employee with that ID
+    public abstract boolean updateEmployee(Employee updatedEmployee);
+
+    public abstract boolean setActive(int id, boolean active);
+
+    public abstract boolean deleteEmployee(int id);
+
+    //Employees whose first name, last name, email or department contain the keyword (any case), in ID order
+    public abstract List<Employee> searchEmployees(String keyword);
+
+    public abstract Map<String, Integer> countByDepartment(boolean activeOnly);
+
+    public abstract void clearAllEmployees();
+
+    //The same check the search always did: does the keyword show up in any of the four fields?
+    static boolean matchesKeyword(Employee e, String lowerKeyword) {
+        return contains(e.getFirstName(), lowerKeyword)
+                || contains(e.getLastName(), lowerKeyword)
+                || contains(e.getEmail(), lowerKeyword)
+                || contains(e.getDepartment(), lowerKeyword);
+    }
+
+    private static boolean contains(String field, String lowerKeyword) {
+        return field != null && field.toLowerCase().contains(lowerKeyword);
+    }
+
+    static long[] searchGrams(Employee e) {
+        return TrigramIndex.gramsOf(lower(e.getFirstName()), lower(e.getLastName()),
+                lower(e.getEmail()), lower(e.getDepartment()));
+    }
+
+    private static String lower(String s) {
+        return s == null ? null : s.toLowerCase();
+    }
+
+    //Copies everything but the ID and the active flag (what an update is allowed to change)
+    static void copyDetails(Employee from, Employee to) {
+        to.setFirstName(from.getFirstName());
+        to.setLastName(from.getLastName());
+        to.setEmail(from.getEmail());
+        to.setDepartment(from.getDepartment());
+        to.setPhone(from.getPhone());
+        to.setOfficeLocation(from.getOfficeLocation());
+        to.setHireDate(from.getHireDate());
+    }
+
+    //A separate Employee with the same ID, details and active flag
+    static Employee copyOf(Employee e) {
+        Employee copy = new Employee(e.getId(), e.getFirstName(), e.getLastName(), e.getEmail(), e.getDepartment(),
+                e.getPhone(), e.getOfficeLocation(), e.getHireDate());
+        copy.setActive(e.isActive());
+        return copy;
+    }
+}
@@ -0,0 +1,335 @@
+package com.cityhall.dms;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.ConcurrentEmployeeRepository.java
+ * The thread safe counterpart of com.cityhall.dms.EmployeeRepository, for batch jobs that add, update and look up
+ * employees from several threads at the same time.  Use it with: new EmployeeService(new ConcurrentEmployeeRepository())
+ *
+ * How it stays safe without making every thread wait in one line:
+ * - IDs come from an AtomicInteger, so two threads can never get the same one.
+ * - Employees live in a ConcurrentSkipListMap keyed by ID (kept in ID order, which is the order they were added).
+ * - Changes to one employee lock only one of 16 "stripes" (picked by ID), and each stripe has its own piece of the
+ *   search index, so threads working on different employees almost never block each other.
+ * - Every change holds the shared side of a read/write lock; getAllEmployees() takes the exclusive side for the
+ *   moment it copies the list, so the copy is one consistent point in time (no half-finished changes in it).
+ * - Department counts use com.cityhall.dms.DepartmentCounter, which is already safe for many threads.
+ * - An employee that is in the repository is never changed.  An update (or deactivate, ...) builds a new Employee
+ *   and swaps it in, so anyone reading without a lock sees either the whole old employee or the whole new one,
+ *   and a list from getAllEmployees() stays exactly as it was when it was taken.  Don't edit the Employee objects
+ *   you get back; go through updateEmployee() or setActive() instead.
+ */
+
+public class ConcurrentEmployeeRepository extends AbstractEmployeeRepository {
+
+    private static final int STRIPES = 16;
+
+    //One employee plus what it was indexed and counted under.  Never changed once made: a change puts a new Entry
+    //(holding a new Employee) in the map in its place.
+    private static final class Entry {
+        final Employee employee;
+        final long[] grams;
+        final String department;
+        final boolean active;
+
+        Entry(Employee employee) {
+            this(employee, searchGrams(employee));
+        }
+
+        //For changes that don't touch the searched fields, so the trigrams can be reused
+        Entry(Employee employee, long[] grams) {
+            this.employee = employee;
+            this.grams = grams;
+            this.department = DepartmentCounter.key(employee.getDepartment());
+            this.active = employee.isActive();
+        }
+    }
+
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private final ConcurrentSkipListMap<Integer, Entry> byId = new ConcurrentSkipListMap<>();
+    //How many employees are in byId (the skip list's own size() walks every entry)
+    private final AtomicInteger count = new AtomicInteger();
+    private final ReentrantLock[] stripeLocks = new ReentrantLock[STRIPES];
+    private final TrigramIndex[] stripeIndexes = new TrigramIndex[STRIPES];
+    private final DepartmentCounter departmentCounts = new DepartmentCounter();
+
+    //Shared side = "I'm changing something", exclusive side = "I need everything to hold still"
+    private final ReentrantReadWriteLock changes = new ReentrantReadWriteLock();
+
+    public ConcurrentEmployeeRepository() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripeLocks[i] = new ReentrantLock();
+            stripeIndexes[i] = new TrigramIndex();
+        }
+    }
+
+    @Override
+    public boolean addEmployee(Employee e) {
+        changes.readLock().lock();
+        try {
+            int id = nextId.getAndIncrement();
+            e.setId(id);
+            //Keep our own copy, so changes the caller makes to e later don't sneak in past the indexes
+            Entry entry = new Entry(copyOf(e));
+            ReentrantLock lock = stripeLock(id);
+            lock.lock();
+            try {
+                byId.put(id, entry);
+                count.incrementAndGet();
+                index(entry);
+            } finally {
+                lock.unlock();
+            }
+            return true;
+        } finally {
+            changes.readLock().unlock();
+        }
+    }
+
+    //The below replaces everyone with employees read back from a snapshot, keeping their IDs.
+    //Unlike the single threaded repository this builds the search index right away (the stripes are built as we go).
+    //The employees in the list are kept as they are (not copied), so the caller must not change them afterwards.
+    @Override
+    public void restoreEmployees(List<Employee> restored, int nextId) {
+        changes.writeLock().lock();
+        try {
+            clearAllEmployees();
+            int highest = 0;
+            for (Employee e : restored) {
+                Entry entry = new Entry(e);
+                if (byId.put(e.getId(), entry) == null) count.incrementAndGet();
+                index(entry);
+                highest = Math.max(highest, e.getId());
+            }
+            this.nextId.set(Math.max(highest + 1, nextId));
+        } finally {
+            changes.writeLock().unlock();
+        }
+    }
+
+    //The below adds an employee with the ID it already has, or updates the one with that ID (used by journal replay)
+    @Override
+    public void putEmployee(Employee e) {
+        int id = e.getId();
+        changes.readLock().lock();
+        ReentrantLock lock = stripeLock(id);
+        lock.lock();
+        try {
+            Entry old = byId.get(id);
+            if (old != null) unindex(old);
+            else count.incrementAndGet();
+            Entry entry = new Entry(copyOf(e));
+            byId.put(id, entry);
+            index(entry);
+            nextId.accumulateAndGet(id + 1, Math::max);
+        } finally {
+            lock.unlock();
+            changes.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getNextId() {
+        return nextId.get();
+    }
+
+    //The below returns a copy of everyone (in the order they were added) taken at one moment in time.
+    //Changes made after this returns don't show up in the list.
+    @Override
+    public List<Employee> getAllEmployees() {
+        changes.writeLock().lock();
+        try {
+            List<Employee> snapshot = new ArrayList<>(byId.size());
+            for (Entry entry : byId.values()) {
+                snapshot.add(entry.employee);
+            }
+            return Collections.unmodifiableList(snapshot);
+        } finally {
+            changes.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    //Unlike getAllEmployees() this isn't one point in time: changes made by other threads while it runs may or
+    //may not be seen (each employee handed over is still a whole one, never half updated)
+    @Override
+    public void forEach(EmployeeVisitor visitor) throws IOException {
+        for (Entry entry : byId.values()) {
+            visitor.visit(entry.employee);
+        }
+    }
+
+    @Override
+    public Employee getEmployeeById(int id) {
+        Entry entry = byId.get(id);
+        return entry == null ? null : entry.employee;
+    }
+
+    @Override
+    public boolean updateEmployee(Employee updatedEmployee) {
+        if (updatedEmployee.getId() == null) return false;
+        int id = updatedEmployee.getId();
+        changes.readLock().lock();
+        ReentrantLock lock = stripeLock(id);
+        lock.lock();
+        try {
+            Entry old = byId.get(id);
+            if (old == null) return false;
+            Employee changed = copyOf(old.employee);
+            copyDetails(updatedEmployee, changed);
+
+            Entry entry = new Entry(changed);
+            unindex(old);
+            byId.put(id, entry);
+            index(entry);
+            return true;
+        } finally {
+            lock.unlock();
+            changes.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean setActive(int id, boolean active) {
+        changes.readLock().lock();
+        ReentrantLock lock = stripeLock(id);
+        lock.lock();
+        try {
+            Entry old = byId.get(id);
+            if (old == null) return false;
+            Employee changed = copyOf(old.employee);
+            changed.setActive(active);
+
+            //Only the counts care about the active flag; the search trigrams stay as they are
+            Entry entry = new Entry(changed, old.grams);
+            departmentCounts.remove(old.department, old.active);
+            byId.put(id, entry);
+            departmentCounts.add(entry.department, entry.active);
+            return true;
+        } finally {
+            lock.unlock();
+            changes.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(int id) {
+        changes.readLock().lock();
+        ReentrantLock lock = stripeLock(id);
+        lock.lock();
+        try {
+            Entry entry = byId.remove(id);
+            if (entry == null) return false;
+            count.decrementAndGet();
+            unindex(entry);
+            return true;
+        } finally {
+            lock.unlock();
+            changes.readLock().unlock();
+        }
+    }
+
+    //The below works like com.cityhall.dms.EmployeeRepository.searchEmployees, asking every stripe of the index for candidates
+    @Override
+    public List<Employee> searchEmployees(String keyword) {
+        String q = keyword.toLowerCase();
+        List<Employee> results = new ArrayList<>();
+
+        if (q.length() < 3) {
+            //Keyword too short for the index, so check everyone
+            for (Entry entry : byId.values()) {
+                if (matchesKeyword(entry.employee, q)) {
+                    results.add(entry.employee);
+                }
+            }
+            return results;
+        }
+
+        int[][] perStripe = new int[STRIPES][];
+        int total = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            stripeLocks[i].lock();
+            try {
+                perStripe[i] = stripeIndexes[i].candidates(q);
+            } finally {
+                stripeLocks[i].unlock();
+            }
+            total += perStripe[i].length;
+        }
+
+        //Each stripe's IDs are sorted; put them all together and sort so results stay in the order they were added
+        int[] candidates = new int[total];
+        int n = 0;
+        for (int[] ids : perStripe) {
+            System.arraycopy(ids, 0, candidates, n, ids.length);
+            n += ids.length;
+        }
+        Arrays.sort(candidates);
+
+        for (int id : candidates) {
+            Employee e = getEmployeeById(id);
+            if (e != null && matchesKeyword(e, q)) {
+                results.add(e);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Map<String, Integer> countByDepartment(boolean activeOnly) {
+        return departmentCounts.snapshot(activeOnly);
+    }
+
+    @Override
+    public void clearAllEmployees() {
+        changes.writeLock().lock();
+        try {
+            byId.clear();
+            count.set(0);
+            for (TrigramIndex index : stripeIndexes) {
+                index.clear();
+            }
+            departmentCounts.clear();
+            nextId.set(1);
+        } finally {
+            changes.writeLock().unlock();
+        }
+    }
+
+    private ReentrantLock stripeLock(int id) {
+        return stripeLocks[stripe(id)];
+    }
+
+    private static int stripe(int id) {
+        return (id & 0x7fffffff) % STRIPES;
+    }
+
+    //The below puts an employee into its stripe's search index and the department counts (caller holds the stripe lock)
+    private void index(Entry entry) {
+        int id = entry.employee.getId();
+        stripeIndexes[stripe(id)].add(id, entry.grams);
+        departmentCounts.add(entry.department, entry.active);
+    }
+
+    //The below takes an employee back out of the search index and the department counts (caller holds the stripe lock)
+    private void unindex(Entry entry) {
+        stripeIndexes[stripe(entry.employee.getId())].remove(entry.employee.getId(), entry.grams);
+        departmentCounts.remove(entry.department, entry.active);
+    }
+}
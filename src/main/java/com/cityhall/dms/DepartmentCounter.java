@@ -0,0 +1,65 @@
+package com.cityhall.dms;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.DepartmentCounter.java
+ * Keeps a running count of employees per department (all of them, and just the active ones).
+ * The repository bumps these counters every time someone is added, updated, deleted, deactivated or reactivated,
+ * so getting the counts only looks at the departments instead of walking through every employee.
+ * The counters are LongAdders, so several threads can bump them at once without waiting on each other.
+ */
+
+public class DepartmentCounter {
+
+    //Department name used for employees without one
+    public static final String UNKNOWN = "(Unknown)";
+
+    //The below holds the two counters for one department
+    private static final class Counts {
+        final LongAdder all = new LongAdder();
+        final LongAdder active = new LongAdder();
+    }
+
+    private final Map<String, Counts> byDepartment = new ConcurrentHashMap<>();
+
+    //The below turns a department into the name it's counted under (trimmed, blank counts as "(Unknown)")
+    public static String key(String department) {
+        return (department == null || department.isBlank()) ? UNKNOWN : department.trim();
+    }
+
+    //The below counts one more employee in a department
+    public void add(String departmentKey, boolean active) {
+        Counts c = byDepartment.computeIfAbsent(departmentKey, k -> new Counts());
+        c.all.increment();
+        if (active) c.active.increment();
+    }
+
+    //The below counts one less employee in a department
+    public void remove(String departmentKey, boolean active) {
+        Counts c = byDepartment.get(departmentKey);
+        if (c == null) return;
+        c.all.decrement();
+        if (active) c.active.decrement();
+    }
+
+    //The below returns employees per department (or just active employees per department).
+    //Departments that are down to zero are left out, same as if we had counted everyone by hand.
+    public Map<String, Integer> snapshot(boolean activeOnly) {
+        Map<String, Integer> counts = new HashMap<>();
+        byDepartment.forEach((dept, c) -> {
+            long n = activeOnly ? c.active.sum() : c.all.sum();
+            if (n > 0) counts.put(dept, (int) n);
+        });
+        return counts;
+    }
+
+    public void clear() {
+        byDepartment.clear();
+    }
+}
@@ -1,8 +1,9 @@
 package com.cityhall.dms;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -15,7 +16,9 @@ import java.util.*;
  * This is the main entry point for Phase 1 (logic and input validation).
  * It's a simple, menu based console app where I can add/update/delete/search employees in my com.cityhall.dms.Employee
  * Directory DMS.
- * Everything runs in memory at this point, no database until a future phase.
+ * Everything runs in memory at this point, no database until a future phase.  Changes are still saved to disk as
+ * they happen (a snapshot plus a journal, see com.cityhall.dms.EmployeeStore), so the next run picks up where this
+ * one left off, even if it crashed.
  */
 
 public class EmployeeApp {
@@ -29,16 +32,39 @@ public class EmployeeApp {
     //Date format to keep all the dates looking the same (same format)
     private final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    //The TXT parser shared with the web app (lives in shared/src/main/java).  We just tell it how to build our Employee.
+    private final EmployeeTxtParser<Employee> txtParser = new EmployeeTxtParser<>(
+            (first, last, email, dept, phone, office, hire) ->
+                    new Employee(null, first, last, email, dept, phone, office, hire));
+
+    //Where snapshots are saved and restored from if the user just presses Enter
+    private static final String DEFAULT_SNAPSHOT = "employees.snap";
+
+    //The files that keep employees between runs.  Settings (java -D...):
+    //  dms.store.dir                 folder to keep them in (default: the current folder), or "off" for memory only
+    //  dms.journal.fsync             always, interval or never: when changes are forced to the disk (default interval)
+    //  dms.journal.sync-interval-ms  how often "interval" forces them (default 100)
+    //  dms.journal.compact-after-mb  journal size that starts a fresh snapshot (default 64)
+    private static final String STORE_SNAPSHOT = "employee-directory.snap";
+    private static final String STORE_JOURNAL = "employee-directory.journal";
+
+    //Null if saving to disk is off or the files couldn't be opened
+    private EmployeeStore store;
+
+    //How many skipped lines get printed after a load before we just show the count
+    private static final int MAX_SKIPPED_SHOWN = 10;
+
     public static void main(String[] args) {
         new EmployeeApp().run();
     }
 
     //The below is the main loop that shows the menu until the user decides to Exit.
     private void run() {
+        openStore();
         boolean running = true;
         while (running) {
             printMenu(); //Shows the menu each time
-            int choice = readInt("Choose an option (1 - 11): ");
+            int choice = readInt("Choose an option (1 - 14): ");
             switch (choice) {
                 case 1: loadFromTxt(); break;
                 case 2: displayAll(); break;
@@ -50,13 +76,17 @@ public class EmployeeApp {
                 case 8: deactivateEmployee(); break;
                 case 9: reactivateEmployee(); break;
                 case 10: clearAll(); break;
-                case 11:
+                case 11: exportEmployees(); break;
+                case 12: saveSnapshot(); break;
+                case 13: restoreSnapshot(); break;
+                case 14:
+                    closeStore();
                     System.out.println("Exiting com.cityhall.dms.Employee Directory...Goodbye!");
                     running = false;
                     break;
 
                 default:
-                    System.out.println("Invalid menu option.  Please choose 1 - 9");
+                    System.out.println("Invalid menu option.  Please choose 1 - 14");
                     break;
             }
             System.out.println(); //Adding a blank line for spacing
@@ -76,7 +106,61 @@ public class EmployeeApp {
         System.out.println("8) De-Activate com.cityhall.dms.Employee (soft Delete)");
         System.out.println("9) Re-Activate com.cityhall.dms.Employee");
         System.out.println("10) Clear all Employees");
-        System.out.println("11) Exit");
+        System.out.println("11) Export Employees (CSV/NDJSON/SQL)");
+        System.out.println("12) Save Snapshot (binary file, fast to restore)");
+        System.out.println("13) Restore Snapshot");
+        System.out.println("14) Exit");
+    }
+
+    //The below brings back the employees from the last run and starts saving changes as they happen
+    private void openStore() {
+        String dir = System.getProperty("dms.store.dir", ".");
+        if (dir.equalsIgnoreCase("off")) {
+            System.out.println("Saving to disk is off, changes only live in memory.");
+            return;
+        }
+        EmployeeJournal.FsyncPolicy policy =
+                EmployeeJournal.FsyncPolicy.fromName(System.getProperty("dms.journal.fsync", "interval"));
+        if (policy == null) {
+            System.out.println("dms.journal.fsync has to be always, interval or never.  Using interval.");
+            policy = EmployeeJournal.FsyncPolicy.INTERVAL;
+        }
+        long syncIntervalMillis = Long.getLong("dms.journal.sync-interval-ms", 100);
+        long compactAfterBytes = Long.getLong("dms.journal.compact-after-mb", 64) << 20;
+
+        try {
+            Path folder = Path.of(dir);
+            long start = System.nanoTime();
+            store = EmployeeStore.open(service, folder.resolve(STORE_SNAPSHOT), folder.resolve(STORE_JOURNAL), policy,
+                    syncIntervalMillis, compactAfterBytes);
+            EmployeeJournal.Replayed replayed = store.getReplayed();
+            if (store.getLoadedFromSnapshot() > 0 || replayed.getRecords() > 0) {
+                System.out.printf("Picked up %d employees from the last run (%d from the snapshot + %d changes "
+                                + "from the journal) in %.2f s%n", service.size(),
+                        store.getLoadedFromSnapshot(), replayed.getRecords(), (System.nanoTime() - start) / 1e9);
+            }
+            if (replayed.getDiscardedBytes() > 0) {
+                System.out.println("The last change in the journal was cut off (" + replayed.getDiscardedBytes()
+                        + " bytes) and has been dropped.");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            //IllegalArgumentException also covers a bad folder name (InvalidPathException)
+            System.out.println("Could not open the saved employees, changes will only live in memory: "
+                    + e.getMessage());
+        }
+    }
+
+    //The below folds the journal into a fresh snapshot (so the next start is quick) and closes the files
+    private void closeStore() {
+        if (store == null) return;
+        try {
+            System.out.println("Saving employees to disk...");
+            store.close();
+        } catch (IOException ioe) {
+            //Whatever made it into the journal is still replayed next time
+            System.out.println("Could not finish saving: " + ioe.getMessage());
+        }
+        store = null;
     }
 
     //The below keeps the app from crashing if someone types letters instead of numbers
@@ -122,55 +206,59 @@ public class EmployeeApp {
     private void loadFromTxt() {
         String path = promptNonEmpty("Enter TXT file path: ");
         int loaded = 0;
+        List<EmployeeTxtParser.LineError> skipped = new ArrayList<>();
 
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
-            String line;
-
-            //The below reads each line one at a time
-            while ((line = br.readLine()) !=null) {
-                Employee e = parseEmployeeTxt(line);
-                //only add if we successfully created a valid employee
-                if (e != null && service.addEmployee(e)) {
-                    loaded++;
-                }
+        try {
+            Path file = Path.of(path);
+            long bytes = Files.size(file);
+            long start = System.nanoTime();
+
+            if (bytes >= EmployeeTxtParser.MAPPED_THRESHOLD_BYTES) {
+                //Big files (like the nightly HR dumps) get memory-mapped and each window is added as soon as it
+                //is parsed, so only one window's employees are waiting around at a time
+                int[] added = {0};
+                txtParser.parseMapped(file, window -> added[0] += addParsed(window, skipped));
+                loaded = added[0];
+            } else {
+                //Smaller files are just read into memory (big ones still get split up and parsed in parallel)
+                loaded = addParsed(txtParser.parse(file), skipped);
             }
 
-            //Once we're done, show how many employees were added
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double megabytes = bytes / (1024.0 * 1024.0);
+
+            printSkippedLines(skipped);
+
+            //Once we're done, show how many employees were added and how fast
             System.out.println("Loaded " + loaded + " employees from text file.");
+            System.out.printf("Read %.1f MB in %.2f s (%.1f MB/s)%n", megabytes, seconds,
+                    seconds > 0 ? megabytes / seconds : 0.0);
 
-        } catch (IOException ioe) {
+        } catch (IOException | InvalidPathException ioe) {
             //The below runs if the file path is wrong or can't be opened
             System.out.println("Could not read the text file: " + ioe.getMessage());
         }
     }
 
-    //The below turns one line of text into an com.cityhall.dms.Employee object
-    private Employee parseEmployeeTxt(String line) {
-        //each field is separated by a comma
-        String[] parts = line.split(",", -1);
-
-        //To make sure that there are enough columns in the line
-        if (parts.length < 7) {
-            System.out.println("Skipped line: not enough fields at " + line);
-            return null;
+    //The below adds the employees from one parsed piece of the file (only the ones that pass validation)
+    private int addParsed(EmployeeTxtParser.Result<Employee> parsed, List<EmployeeTxtParser.LineError> skipped) {
+        int added = 0;
+        for (Employee e : parsed.getEmployees()) {
+            if (service.addEmployee(e)) {
+                added++;
+            }
         }
+        skipped.addAll(parsed.getErrors());
+        return added;
+    }
 
-        try {
-            //Create a new employee and fill in the information from the text file (lines)
-            Employee e = new Employee();
-            e.setFirstName(parts[0].trim());
-            e.setLastName(parts[1].trim());
-            e.setEmail(parts[2].trim());
-            e.setDepartment(parts[3].trim());
-            e.setPhone(parts[4].trim());
-            e.setOfficeLocation(parts[5].trim());
-            e.setHireDate(LocalDate.parse(parts[6].trim(), DATE_FMT));
-            return e;
-
-        } catch (Exception ex) {
-            //If something goes wrong (like a bad date format), skips that line
-            System.out.println("Skipped line: bad data format at " + line);
-            return null;
+    //The below shows which lines were skipped (bad format, bad date), but only the first few so big files don't flood the screen
+    private void printSkippedLines(List<EmployeeTxtParser.LineError> errors) {
+        for (int i = 0; i < errors.size() && i < MAX_SKIPPED_SHOWN; i++) {
+            System.out.println("Skipped " + errors.get(i));
+        }
+        if (errors.size() > MAX_SKIPPED_SHOWN) {
+            System.out.println("...and " + (errors.size() - MAX_SKIPPED_SHOWN) + " more skipped lines.");
         }
     }
 
@@ -197,9 +285,14 @@ public class EmployeeApp {
 
         //The below loops keeps prompting the user until a valid email is entered.
         String email;
+        EmailValidator.Result emailCheck;
         do {
             email = promptNonEmpty("Email: ");
-        } while (!service.validateEmailFormat(email));
+            emailCheck = service.checkEmail(email);
+            if (!emailCheck.isValid()) {
+                System.out.println("Error: " + emailCheck.getMessage());
+            }
+        } while (!emailCheck.isValid());
         e.setEmail(email);
 
         e.setDepartment(promptNonEmpty("Department: "));
@@ -307,24 +400,23 @@ public class EmployeeApp {
 
     //(7)Custom action: count employees by department
     private void customActionCountByDepartment() {
-        List<Employee> all = service.getAllEmployees();
+        //The service keeps these counts up to date, so this doesn't have to go through every employee
+        Map<String, Integer> all = service.countByDepartment();
         if (all.isEmpty()) {
             System.out.println("No employees found to count.");
             return;
         }
+        Map<String, Integer> active = service.countActiveByDepartment();
 
-        //Count employees per department
+        //Departments that only differ by upper/lower case are shown together
         Map<String, Integer> counts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-
-        for (Employee e : all) {
-            String dept = (e.getDepartment() == null || e.getDepartment().isBlank())
-                ? "(Unknown)"
-                : e.getDepartment().trim();
-            counts.put(dept, counts.getOrDefault(dept, 0) + 1);
-        }
+        Map<String, Integer> activeCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        all.forEach((dept, count) -> counts.merge(dept, count, Integer::sum));
+        active.forEach((dept, count) -> activeCounts.merge(dept, count, Integer::sum));
 
         System.out.println("Employees by Department");
-        counts.forEach((dept, count) -> System.out.println(dept + ": " + count));
+        counts.forEach((dept, count) ->
+                System.out.println(dept + ": " + count + " (" + activeCounts.getOrDefault(dept, 0) + " active)"));
     }
 
     //
@@ -382,6 +474,93 @@ public class EmployeeApp {
         }
     }
 
+    //(11)The below writes every employee to a file as CSV, NDJSON or SQL, gzipped if asked
+    //Each employee goes straight to the file, so nothing extra is built up in memory however many there are
+    private void exportEmployees() {
+        if (service.size() == 0) {
+            System.out.println("No employees to export.");
+            return;
+        }
+
+        EmployeeExporter.Format format = null;
+        while (format == null) {
+            format = EmployeeExporter.Format.fromName(promptNonEmpty("Export format (csv/ndjson/sql): "));
+            if (format == null) System.out.println("Please type csv, ndjson or sql.");
+        }
+        boolean gzip = confirm("Compress with gzip? (y/n): ");
+        String suggested = EmployeeExporter.fileName("employees", format, gzip);
+        System.out.print("Save to file (Enter for " + suggested + "): ");
+        String path = scanner.nextLine().trim();
+        if (path.isEmpty()) path = suggested;
+
+        try {
+            Path file = Path.of(path);
+            long start = System.nanoTime();
+            int[] exported = {0};
+            try (EmployeeExporter exporter = new EmployeeExporter(Files.newOutputStream(file), format, gzip)) {
+                //Straight from the repository, so not even a copy of the list gets made
+                service.forEachEmployee(e -> {
+                    exporter.write(e.getId(), e.getFirstName(), e.getLastName(), e.getEmail(), e.getDepartment(),
+                            e.getPhone(), e.getOfficeLocation(), e.getHireDate(), e.isActive());
+                    exported[0]++;
+                });
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Exported %d employees to %s (%.1f KB) in %.2f s%n", exported[0], file,
+                    Files.size(file) / 1024.0, seconds);
+        } catch (IOException | InvalidPathException ioe) {
+            System.out.println("Could not write the export file: " + ioe.getMessage());
+        }
+    }
+
+    //(12)The below saves everyone in memory to a binary snapshot file (see com.cityhall.dms.EmployeeSnapshot)
+    private void saveSnapshot() {
+        Path file = promptSnapshotPath();
+        if (file == null) return;
+        try {
+            List<Employee> all = service.getAllEmployees();
+            long start = System.nanoTime();
+            long bytes = EmployeeSnapshot.save(file, all, service.getNextId());
+            System.out.printf("Saved %d employees to %s (%.1f KB) in %.2f s%n", all.size(), file, bytes / 1024.0,
+                    (System.nanoTime() - start) / 1e9);
+        } catch (IOException ioe) {
+            System.out.println("Could not save the snapshot: " + ioe.getMessage());
+        }
+    }
+
+    //(13)The below replaces everyone in memory with the employees in a snapshot file
+    private void restoreSnapshot() {
+        Path file = promptSnapshotPath();
+        if (file == null) return;
+        if (service.size() > 0
+                && !confirm("This replaces the employees in memory.  Continue? (y/n): ")) {
+            System.out.println("Cancelled.");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            EmployeeSnapshot.Contents snapshot = EmployeeSnapshot.load(file);
+            service.restoreEmployees(snapshot.getEmployees(), snapshot.getNextId());
+            System.out.printf("Restored %d employees from %s in %.2f s%n", snapshot.getEmployees().size(), file,
+                    (System.nanoTime() - start) / 1e9);
+        } catch (IOException ioe) {
+            //Nothing in memory has been touched if the file couldn't be read
+            System.out.println("Could not restore the snapshot: " + ioe.getMessage());
+        }
+    }
+
+    //Asks for the snapshot file, with Enter meaning the default one.  Returns null if the path isn't valid.
+    private Path promptSnapshotPath() {
+        System.out.print("Snapshot file (Enter for " + DEFAULT_SNAPSHOT + "): ");
+        String raw = scanner.nextLine().trim();
+        try {
+            return Path.of(raw.isEmpty() ? DEFAULT_SNAPSHOT : raw);
+        } catch (InvalidPathException ipe) {
+            System.out.println("That isn't a valid file path: " + ipe.getMessage());
+            return null;
+        }
+    }
+
     private String formatEmployee(Employee e) {
         String status = e.isActive() ? "Active" : "Inactive";
         return String.format(
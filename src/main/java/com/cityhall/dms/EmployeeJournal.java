@@ -0,0 +1,435 @@
+package com.cityhall.dms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeJournal.java
+ * An append-only file with one record for every change made to the console app's employees (add, update, delete,
+ * deactivate, reactivate, clear).  Together with a snapshot (com.cityhall.dms.EmployeeSnapshot) it lets the app
+ * come back after a crash with everything it had: load the snapshot, then replay the journal over it.
+ * com.cityhall.dms.EmployeeStore decides when to do that and when to start a fresh journal.
+ *
+ * File layout (all numbers big-endian, strings stored like in the snapshot):
+ *   header   magic "EMPJRNL1" (8 bytes), format version (int)
+ *   records  one after another, each one:
+ *              payload length (int), CRC32 of the type and payload (int), type (byte), payload
+ *            PUT         ID (int), flags (byte: 1 = active, 2 = has a hire date), hire date as days since
+ *                        1970-01-01 (int, only if flag 2 is set), then first name, last name, email, department,
+ *                        phone, office location (strings).  Used for adds and updates.
+ *            DELETE      ID (int)
+ *            SET_ACTIVE  ID (int), active (byte)
+ *            CLEAR       nothing
+ *
+ * Every record says what an employee looks like now rather than what changed, so replaying a record that was
+ * already applied (e.g. the app died between saving a snapshot and emptying the journal) leaves things the same.
+ *
+ * Each change is written to the file (through one FileChannel.write call) before the method returns, so if the
+ * app itself crashes nothing is lost.  What can still be lost when the whole machine goes down depends on when
+ * the file is fsynced (forced to the disk), which is the FsyncPolicy.  Whoever fsyncs covers every record written
+ * before it started, so threads that were waiting on it don't have to fsync again (group commit).
+ *
+ * If the machine goes down in the middle of a write, the last record can be cut off.  Its length or CRC won't
+ * add up, so replay stops there and trims it off the file.
+ */
+
+public class EmployeeJournal implements Closeable {
+
+    //When records get forced to the disk
+    public enum FsyncPolicy {
+        //Before each change returns.  Nothing acknowledged is ever lost, but a change takes as long as the disk does.
+        ALWAYS,
+        //By a background thread every so many milliseconds.  A power cut can lose the last interval's changes.
+        INTERVAL,
+        //Whenever the operating system gets to it (and when the journal is closed).
+        NEVER;
+
+        //Looks a policy up by name ("always", "interval", "never", any case).  Returns null if it isn't one of ours.
+        public static FsyncPolicy fromName(String name) {
+            if (name == null) return null;
+            for (FsyncPolicy p : values()) {
+                if (p.name().equalsIgnoreCase(name.trim())) return p;
+            }
+            return null;
+        }
+    }
+
+    //What a replay did
+    public static final class Replayed {
+        private final long records;
+        private final long discardedBytes;
+
+        Replayed(long records, long discardedBytes) {
+            this.records = records;
+            this.discardedBytes = discardedBytes;
+        }
+
+        //How many changes were applied
+        public long getRecords() {
+            return records;
+        }
+
+        //How many bytes of a cut off last record were trimmed from the end of the file (0 normally)
+        public long getDiscardedBytes() {
+            return discardedBytes;
+        }
+    }
+
+    //"EMPJRNL1" in ASCII
+    private static final long MAGIC = 0x454D504A524E4C31L;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8 + 4;
+
+    //Payload length + CRC + type
+    private static final int RECORD_HEADER_BYTES = 4 + 4 + 1;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte SET_ACTIVE = 3;
+    private static final byte CLEAR = 4;
+
+    private static final int FLAG_ACTIVE = 1;
+    private static final int FLAG_HIRE_DATE = 2;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FsyncPolicy policy;
+    private final ScheduledExecutorService syncer;
+
+    //Records are put together here and written with one call (only used while holding this object's lock)
+    private ByteBuffer buffer = ByteBuffer.allocate(1024);
+    private final CRC32 crc = new CRC32();
+    private long records = 0;
+
+    //Where the file ends (changed while holding this object's lock)
+    private volatile long written;
+
+    //Everything before this is known to be on the disk (only changed while holding syncLock)
+    private final Object syncLock = new Object();
+    private long synced;
+
+    private EmployeeJournal(Path file, FileChannel channel, FsyncPolicy policy, long syncIntervalMillis)
+            throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.policy = policy;
+        this.written = channel.size();
+        this.synced = written;
+        channel.position(written);
+
+        if (policy == FsyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "employee-journal-sync");
+                t.setDaemon(true);
+                return t;
+            });
+            syncer.scheduleWithFixedDelay(this::syncInBackground, syncIntervalMillis, syncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    //The below opens a journal to add records to the end of, creating it if it isn't there.
+    //Replay it first: that also trims a cut off last record, which new records must not be written after.
+    public static EmployeeJournal open(Path file, FsyncPolicy policy, long syncIntervalMillis) throws IOException {
+        if (syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Sync interval has to be more than 0 ms, got " + syncIntervalMillis);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                writeHeader(channel);
+            } else {
+                checkHeader(channel, file);
+            }
+            return new EmployeeJournal(file, channel, policy, syncIntervalMillis);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    //The below applies every record in the journal to the repository, in the order they were written.
+    //A cut off record at the end is trimmed off the file.  A missing file is the same as an empty one.
+    public static Replayed replay(Path file, AbstractEmployeeRepository repo) throws IOException {
+        if (!Files.exists(file)) return new Replayed(0, 0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size == 0) return new Replayed(0, 0);
+            checkHeader(channel, file);
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal is too big to replay (over 2 GB): " + file);
+            }
+            //Read rather than mapped, so the truncate below (and the next compaction) work on Windows too
+            ByteBuffer data = EmployeeSnapshot.readAll(channel, (int) size, file);
+
+            CRC32 crc = new CRC32();
+            byte[] scratch = new byte[256];
+            long count = 0;
+            int pos = HEADER_BYTES;
+            while (size - pos >= RECORD_HEADER_BYTES) {
+                int length = data.getInt(pos);
+                if (length < 0 || length > size - pos - RECORD_HEADER_BYTES) break;
+                crc.reset();
+                crc.update(data.duplicate().position(pos + 8).limit(pos + RECORD_HEADER_BYTES + length));
+                if ((int) crc.getValue() != data.getInt(pos + 4)) break;
+
+                ByteBuffer record = data.duplicate().position(pos + RECORD_HEADER_BYTES)
+                        .limit(pos + RECORD_HEADER_BYTES + length);
+                apply(data.get(pos + 8), record, repo, scratch, file);
+                pos += RECORD_HEADER_BYTES + length;
+                count++;
+            }
+
+            long discarded = size - pos;
+            if (discarded > 0) {
+                channel.truncate(pos);
+                channel.force(true);
+            }
+            return new Replayed(count, discarded);
+        }
+    }
+
+    //Applies one record whose CRC has already been checked
+    private static void apply(byte type, ByteBuffer in, AbstractEmployeeRepository repo, byte[] scratch, Path file)
+            throws IOException {
+        try {
+            switch (type) {
+                case PUT -> {
+                    int id = in.getInt();
+                    int flags = in.get();
+                    LocalDate hireDate = (flags & FLAG_HIRE_DATE) != 0 ? LocalDate.ofEpochDay(in.getInt()) : null;
+                    Employee e = new Employee(id, EmployeeSnapshot.getString(in, scratch),
+                            EmployeeSnapshot.getString(in, scratch), EmployeeSnapshot.getString(in, scratch),
+                            EmployeeSnapshot.getString(in, scratch), EmployeeSnapshot.getString(in, scratch),
+                            EmployeeSnapshot.getString(in, scratch), hireDate);
+                    e.setActive((flags & FLAG_ACTIVE) != 0);
+                    repo.putEmployee(e);
+                }
+                //Deleting someone who isn't there (already deleted before the last snapshot) is fine
+                case DELETE -> repo.deleteEmployee(in.getInt());
+                case SET_ACTIVE -> repo.setActive(in.getInt(), in.get() != 0);
+                case CLEAR -> repo.clearAllEmployees();
+                default -> throw new IOException("Unknown journal record type " + type + ": " + file);
+            }
+        } catch (BufferUnderflowException ex) {
+            //A good CRC with bad contents means the file was written by something else
+            throw new IOException("Journal record doesn't add up: " + file, ex);
+        }
+        if (in.hasRemaining()) {
+            throw new IOException("Journal record has " + in.remaining() + " unexpected bytes: " + file);
+        }
+    }
+
+    //The below records an added or updated employee (pass the employee as it is stored now, with its ID)
+    public void logPut(Employee e) throws IOException {
+        String[] strings = {e.getFirstName(), e.getLastName(), e.getEmail(), e.getDepartment(), e.getPhone(),
+                e.getOfficeLocation()};
+        long end;
+        synchronized (this) {
+            //ID + flags + hire date, then each string at its longest (3 UTF-8 bytes per char) plus its length
+            int most = 4 + 1 + 4;
+            for (String s : strings) {
+                most += 5 + (s == null ? 0 : s.length() * 3);
+            }
+            ByteBuffer out = startRecord(PUT, most);
+            out.putInt(e.getId());
+            out.put((byte) ((e.isActive() ? FLAG_ACTIVE : 0) | (e.getHireDate() != null ? FLAG_HIRE_DATE : 0)));
+            if (e.getHireDate() != null) {
+                out.putInt((int) e.getHireDate().toEpochDay());
+            }
+            for (String s : strings) {
+                putString(out, s);
+            }
+            end = writeRecord();
+        }
+        afterWrite(end);
+    }
+
+    //The below records a deleted employee
+    public void logDelete(int id) throws IOException {
+        long end;
+        synchronized (this) {
+            startRecord(DELETE, 4).putInt(id);
+            end = writeRecord();
+        }
+        afterWrite(end);
+    }
+
+    //The below records an employee being deactivated or reactivated
+    public void logSetActive(int id, boolean active) throws IOException {
+        long end;
+        synchronized (this) {
+            startRecord(SET_ACTIVE, 4 + 1).putInt(id).put((byte) (active ? 1 : 0));
+            end = writeRecord();
+        }
+        afterWrite(end);
+    }
+
+    //The below records everyone being cleared
+    public void logClear() throws IOException {
+        long end;
+        synchronized (this) {
+            startRecord(CLEAR, 0);
+            end = writeRecord();
+        }
+        afterWrite(end);
+    }
+
+    //The below forces everything written so far to the disk.  If another thread is already doing it, this waits
+    //for it and returns straight away when that covered our records too.
+    public void sync() throws IOException {
+        syncUpTo(written);
+    }
+
+    //The below empties the journal (once a snapshot has everything in it) and makes sure that is on the disk
+    public void reset() throws IOException {
+        synchronized (this) {
+            synchronized (syncLock) {
+                channel.truncate(HEADER_BYTES);
+                channel.position(HEADER_BYTES);
+                channel.force(true);
+                written = HEADER_BYTES;
+                synced = HEADER_BYTES;
+                records = 0;
+            }
+        }
+    }
+
+    //How big the file is, in bytes
+    public long size() {
+        return written;
+    }
+
+    //True if there are no records in the file (including ones from before it was opened)
+    public boolean isEmpty() {
+        return written == HEADER_BYTES;
+    }
+
+    //How many records have been written since the journal was opened or last reset
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    public FsyncPolicy getPolicy() {
+        return policy;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    //The below stops the background syncing, forces what's left to the disk and closes the file
+    @Override
+    public void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdown();
+            try {
+                syncer.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    //Gets the buffer ready for a record with at most maxPayload bytes after the type (caller holds this lock)
+    private ByteBuffer startRecord(byte type, int maxPayload) {
+        if (buffer.capacity() < RECORD_HEADER_BYTES + maxPayload) {
+            buffer = ByteBuffer.allocate(Math.max(RECORD_HEADER_BYTES + maxPayload, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        buffer.position(RECORD_HEADER_BYTES - 1);
+        buffer.put(type);
+        return buffer;
+    }
+
+    //Fills in the length and CRC, writes the record and returns where the file ends now (caller holds this lock)
+    private long writeRecord() throws IOException {
+        int length = buffer.position() - RECORD_HEADER_BYTES;
+        crc.reset();
+        crc.update(buffer.array(), 8, length + 1);
+        buffer.putInt(0, length).putInt(4, (int) crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        records++;
+        written += RECORD_HEADER_BYTES + length;
+        return written;
+    }
+
+    private void afterWrite(long end) throws IOException {
+        if (policy == FsyncPolicy.ALWAYS) {
+            syncUpTo(end);
+        }
+    }
+
+    //Group commit: only one thread fsyncs at a time, and it covers everything written before it started.
+    //Threads that were waiting behind it find their records already on the disk and skip their own fsync.
+    private void syncUpTo(long end) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= end) return;
+            long target = written;
+            //force(false) still saves the new file length, which is all the metadata an appended file needs
+            channel.force(false);
+            synced = target;
+        }
+    }
+
+    //Runs on the background thread for FsyncPolicy.INTERVAL
+    private void syncInBackground() {
+        try {
+            sync();
+        } catch (IOException ioe) {
+            System.out.println("Error: Could not sync the journal to disk: " + ioe.getMessage());
+        }
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        EmployeeSnapshot.putVarint(out, utf8.length + 1);
+        out.put(utf8);
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putLong(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) channel.write(header, header.position());
+        channel.force(true);
+    }
+
+    private static void checkHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) break;
+        }
+        if (header.hasRemaining() || header.getLong(0) != MAGIC) {
+            throw new IOException("Not an employee journal: " + file);
+        }
+        if (header.getInt(8) != VERSION) {
+            throw new IOException("Unsupported journal version " + header.getInt(8) + ": " + file);
+        }
+    }
+}
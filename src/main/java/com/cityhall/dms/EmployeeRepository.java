@@ -1,8 +1,10 @@
 package com.cityhall.dms;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
 /**Robert Yantin Jr.
  * CEN 3024 - Software Development I
@@ -10,89 +12,271 @@ import java.util.Objects;
  * com.cityhall.dms.EmployeeRepository.java
  * This class basically acts like a database for our com.cityhall.dms.Employee objects.
  * It stores them in a list and lets us do CRUD (Create, Read, Update, Delete).
+ * An ID index sits next to the list so looking up, updating or deleting one employee doesn't scan everyone,
+ * and a trigram index (com.cityhall.dms.TrigramIndex) keeps keyword searches from checking every single record.
+ * Department head counts are kept up to date as we go (com.cityhall.dms.DepartmentCounter) instead of being
+ * counted from scratch every time someone asks.
+ * Any edits to an employee need to go through updateEmployee() or setActive() so the indexes stay in sync.
+ * After a restore from a snapshot (restoreEmployees) the search index is only built the first time someone searches,
+ * so a big directory comes back right away and the cost is only paid if the search is actually used.
  * For Phase 1, everything happens in memory - no database yet.
  */
 
-public class EmployeeRepository {
+public class EmployeeRepository extends AbstractEmployeeRepository {
 
-    //The below is to keep all our employees in a list
+    //The below is to keep all our employees in a list (in the order they were added).
+    //Deleted employees leave a null "hole" behind so we don't have to shift the whole list on every delete.
     private List<Employee> employees = new ArrayList<>();
 
+    //The below maps an employee ID to their position in the list, so lookups don't scan everyone
+    private final IntIntHashMap positionById = new IntIntHashMap();
+
+    //How many null holes are sitting in the list right now
+    private int holes = 0;
+
+    //The below is the keyword search index and the department counters, plus (for each list position) what we put
+    //in them for that employee.  We keep that around because callers sometimes edit the Employee object before
+    //calling update, and by then the old values are gone.
+    private final TrigramIndex searchIndex = new TrigramIndex();
+    private final DepartmentCounter departmentCounts = new DepartmentCounter();
+    private List<Indexed> indexedAt = new ArrayList<>();
+
+    //False after restoreEmployees() until the first search builds the trigram index
+    private boolean searchIndexBuilt = true;
+
+    //What one employee was indexed and counted under (grams is null while the search index isn't built)
+    private static final class Indexed {
+        final long[] grams;
+        final String department;
+        final boolean active;
+
+        Indexed(long[] grams, String department, boolean active) {
+            this.grams = grams;
+            this.department = department;
+            this.active = active;
+        }
+    }
+
     //The below will help us assign a unique ID to every new employee
     private int nextId = 1;
 
     //The below acts to automatically give an employee ID when a new employee is added to the database
     public boolean addEmployee(Employee e) {
         e.setId(nextId++);
-        employees.add(e);
+        append(e);
         return true;
     }
 
-    //The below returns all employees
+    //The below puts an employee in with the ID it already has: if that ID is taken the employee there is updated
+    //(active flag included), otherwise it is added.  Used when replaying the journal (com.cityhall.dms.EmployeeJournal)
+    //where the same change can come up twice, so doing it again has to leave things the same.
+    public void putEmployee(Employee e) {
+        int pos = positionById.get(e.getId());
+        if (pos == IntIntHashMap.NO_VALUE) {
+            append(e);
+            nextId = Math.max(nextId, e.getId() + 1);
+            return;
+        }
+        Employee current = employees.get(pos);
+        copyDetails(e, current);
+        current.setActive(e.isActive());
+        reindex(pos, current);
+    }
+
+    //The below replaces everyone with employees read back from a snapshot, keeping their IDs.
+    //They were checked when they were first added, so they aren't validated again.  The IDs have to be in
+    //increasing order (the order getAllEmployees() gives them in), and new employees will start at nextId.
+    public void restoreEmployees(List<Employee> restored, int nextId) {
+        clearAllEmployees();
+        employees = new ArrayList<>(restored.size());
+        indexedAt = new ArrayList<>(restored.size());
+        for (Employee e : restored) {
+            positionById.put(e.getId(), employees.size());
+            employees.add(e);
+            Indexed indexed = new Indexed(null, DepartmentCounter.key(e.getDepartment()), e.isActive());
+            indexedAt.add(indexed);
+            departmentCounts.add(indexed.department, indexed.active);
+            this.nextId = Math.max(this.nextId, e.getId() + 1);
+        }
+        this.nextId = Math.max(this.nextId, nextId);
+        searchIndexBuilt = false;
+    }
+
+    //The ID the next new employee will get (saved in snapshots so deleted IDs aren't handed out again)
+    public int getNextId() {
+        return nextId;
+    }
+
+    //The below returns all employees (in the order they were added).  It's a copy, so a later delete can't leave
+    //a null hole in a list someone is still holding on to.
     public List<Employee> getAllEmployees() {
-        return employees;
+        compact();
+        return Collections.unmodifiableList(new ArrayList<>(employees));
     }
 
-    //The below is used to find an employee by ID.  If it doesn't exist, returns null.
-    public Employee getEmployeeById(int id) {
+    public int size() {
+        return employees.size() - holes;
+    }
+
+    public void forEach(EmployeeVisitor visitor) throws IOException {
         for (Employee e : employees) {
-            if (e.getId() != null && e.getId() == id) {
-                return e;
-            }
+            if (e != null) visitor.visit(e);
         }
-        return null;
+    }
+
+    //The below is used to find an employee by ID.  If it doesn't exist, returns null.
+    public Employee getEmployeeById(int id) {
+        int pos = positionById.get(id);
+        return pos == IntIntHashMap.NO_VALUE ? null : employees.get(pos);
     }
 
     //The below updates an employee by matching their ID.  Returns true if successful, false if the employee doesn't exist.
     public boolean updateEmployee(Employee updatedEmployee) {
-        for (Employee e : employees) {
-            if (Objects.equals(e.getId(), updatedEmployee.getId())) {
-                e.setFirstName(updatedEmployee.getFirstName());
-                e.setLastName(updatedEmployee.getLastName());
-                e.setEmail(updatedEmployee.getEmail());
-                e.setDepartment(updatedEmployee.getDepartment());
-                e.setPhone(updatedEmployee.getPhone());
-                e.setOfficeLocation(updatedEmployee.getOfficeLocation());
-                e.setHireDate(updatedEmployee.getHireDate());
-                return true;
-            }
-        }
-        return false;
+        if (updatedEmployee.getId() == null) return false;
+        int pos = positionById.get(updatedEmployee.getId());
+        if (pos == IntIntHashMap.NO_VALUE) return false;
+        Employee e = employees.get(pos);
+        copyDetails(updatedEmployee, e);
+
+        //Swap the old search trigrams and department count for the new ones
+        reindex(pos, e);
+        return true;
+    }
+
+    //The below marks an employee active or inactive and fixes the department counts.  False if not found.
+    public boolean setActive(int id, boolean active) {
+        int pos = positionById.get(id);
+        if (pos == IntIntHashMap.NO_VALUE) return false;
+        employees.get(pos).setActive(active);
+
+        //Only the counts care about the active flag; the search trigrams stay as they are
+        Indexed old = indexedAt.get(pos);
+        departmentCounts.remove(old.department, old.active);
+        departmentCounts.add(old.department, active);
+        indexedAt.set(pos, new Indexed(old.grams, old.department, active));
+        return true;
     }
 
     //The below deletes an employee by ID.  Returns true if deleted, false if not found.
     public boolean deleteEmployee(int id) {
-        Employee toRemove = null;
-        for (Employee e : employees) {
-            if (Objects.equals(e.getId(), id)) {
-                toRemove = e;
-                break;
-            }
-        }
-        if (toRemove != null) {
-            employees.remove(toRemove);
-            return true;
+        int pos = positionById.remove(id);
+        if (pos == IntIntHashMap.NO_VALUE) return false;
+
+        Indexed old = indexedAt.get(pos);
+        if (old.grams != null) searchIndex.remove(id, old.grams);
+        departmentCounts.remove(old.department, old.active);
+        employees.set(pos, null);
+        indexedAt.set(pos, null);
+        holes++;
+
+        //Once more than half the list is holes, squeeze them out so memory doesn't keep growing
+        if (holes > employees.size() / 2) {
+            compact();
         }
-        return false;
+        return true;
     }
 
     //The below searches for employees that match a keyword (name, email, department).
+    //The trigram index narrows it down to a few candidates, then each one is checked for real.
     public List<Employee> searchEmployees (String keyword) {
+        String q = keyword.toLowerCase();
         List<Employee> results = new ArrayList<>();
-        for (Employee e : employees) {
-            if (e.getFirstName().toLowerCase().contains(keyword.toLowerCase()) ||
-                    e.getLastName().toLowerCase().contains(keyword.toLowerCase()) ||
-                    e.getEmail().toLowerCase().contains(keyword.toLowerCase()) ||
-                    e.getDepartment().toLowerCase().contains(keyword.toLowerCase())) {
+        buildSearchIndex();
+
+        int[] candidates = searchIndex.candidates(q);
+        if (candidates == null) {
+            //Keyword too short for the index, so check everyone
+            for (Employee e : employees) {
+                if (e != null && matchesKeyword(e, q)) {
+                    results.add(e);
+                }
+            }
+            return results;
+        }
+
+        //Candidate IDs come back sorted, and IDs are handed out in order, so this keeps insertion order
+        for (int id : candidates) {
+            Employee e = getEmployeeById(id);
+            if (e != null && matchesKeyword(e, q)) {
                 results.add(e);
             }
         }
         return results;
     }
 
+    //The below returns how many employees (or active employees) are in each department.
+    //It only looks at the running counters, so it costs the same with 10 employees or 10 million.
+    public Map<String, Integer> countByDepartment(boolean activeOnly) {
+        return departmentCounts.snapshot(activeOnly);
+    }
+
     //The below clears all employees (used if we ever want to reload data).
     public void clearAllEmployees() {
         employees.clear();
+        positionById.clear();
+        searchIndex.clear();
+        departmentCounts.clear();
+        indexedAt.clear();
+        holes = 0;
         nextId = 1;
+        searchIndexBuilt = true;
+    }
+
+    //The below adds an employee (who already has an ID) to the end of the list, the search index and the counts
+    private void append(Employee e) {
+        positionById.put(e.getId(), employees.size());
+        employees.add(e);
+
+        Indexed indexed = new Indexed(searchIndexBuilt ? searchGrams(e) : null,
+                DepartmentCounter.key(e.getDepartment()), e.isActive());
+        indexedAt.add(indexed);
+        if (searchIndexBuilt) searchIndex.add(e.getId(), indexed.grams);
+        departmentCounts.add(indexed.department, indexed.active);
+    }
+
+    //The below builds the trigram index for everyone if a restore skipped it
+    private void buildSearchIndex() {
+        if (searchIndexBuilt) return;
+        for (int pos = 0; pos < employees.size(); pos++) {
+            Employee e = employees.get(pos);
+            if (e == null) continue;
+            Indexed old = indexedAt.get(pos);
+            Indexed built = new Indexed(searchGrams(e), old.department, old.active);
+            searchIndex.add(e.getId(), built.grams);
+            indexedAt.set(pos, built);
+        }
+        searchIndexBuilt = true;
+    }
+
+    //The below removes the null holes left by deletes and fixes up everyone's position in the index
+    private void compact() {
+        if (holes == 0) return;
+        List<Employee> packed = new ArrayList<>(employees.size() - holes);
+        List<Indexed> packedIndexed = new ArrayList<>(employees.size() - holes);
+        for (int i = 0; i < employees.size(); i++) {
+            Employee e = employees.get(i);
+            if (e != null) {
+                positionById.put(e.getId(), packed.size());
+                packed.add(e);
+                packedIndexed.add(indexedAt.get(i));
+            }
+        }
+        employees = packed;
+        indexedAt = packedIndexed;
+        holes = 0;
+    }
+
+    //The below takes an employee's old entry out of the search index and department counts and puts the new one in
+    private void reindex(int pos, Employee e) {
+        Indexed old = indexedAt.get(pos);
+        Indexed now = new Indexed(searchIndexBuilt ? searchGrams(e) : null,
+                DepartmentCounter.key(e.getDepartment()), e.isActive());
+        if (searchIndexBuilt) {
+            searchIndex.remove(e.getId(), old.grams);
+            searchIndex.add(e.getId(), now.grams);
+        }
+        departmentCounts.remove(old.department, old.active);
+        departmentCounts.add(now.department, now.active);
+        indexedAt.set(pos, now);
     }
 }
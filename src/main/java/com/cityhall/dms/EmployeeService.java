@@ -1,5 +1,7 @@
 package com.cityhall.dms;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 /**Robert Yantin Jr.
@@ -13,13 +15,27 @@ import java.util.List;
 
 public class EmployeeService {
 
-    //The below creates an instance of our com.cityhall.dms.EmployeeRepository so we can store and manage employees
-    private EmployeeRepository repo =  new EmployeeRepository();
+    //The below is where we store and manage employees (a com.cityhall.dms.EmployeeRepository unless told otherwise)
+    private final AbstractEmployeeRepository repo;
+
+    //Saves changes to disk as they happen (see com.cityhall.dms.EmployeeStore), or null if they only live in memory
+    private EmployeeStore store;
+
+    //The normal single threaded setup used by the console menu
+    public EmployeeService() {
+        this(new EmployeeRepository());
+    }
+
+    //Lets a batch job pass in a different repository, e.g. a ConcurrentEmployeeRepository for multi-threaded work
+    public EmployeeService(AbstractEmployeeRepository repo) {
+        this.repo = repo;
+    }
 
     //The below method adds a new employee after validating their information
     public boolean addEmployee(Employee employee) {
         if (isValidEmployee(employee)) {
             repo.addEmployee(employee);
+            if (store != null) store.added(employee);
             return true;
         } else {
             System.out.println("Error: Invalid employee information.");
@@ -32,6 +48,16 @@ public class EmployeeService {
         return repo.getAllEmployees();
     }
 
+    //The below says how many employees there are (cheaper than getAllEmployees().size(), which copies everyone)
+    public int size() {
+        return repo.size();
+    }
+
+    //The below hands every employee to the visitor in ID order without copying the list (used by the export)
+    public void forEachEmployee(AbstractEmployeeRepository.EmployeeVisitor visitor) throws IOException {
+        repo.forEach(visitor);
+    }
+
     //The below method retrieves one employee by their ID number
     public Employee getEmployeeById(int id) {
         return repo.getEmployeeById(id);
@@ -43,6 +69,8 @@ public class EmployeeService {
             boolean success = repo.updateEmployee(employee);
             if (!success) {
                 System.out.println("Error: com.cityhall.dms.Employee not found for update.");
+            } else if (store != null) {
+                store.updated(repo.getEmployeeById(employee.getId()));
             }
             return success;
         } else {
@@ -56,6 +84,8 @@ public class EmployeeService {
         boolean success = repo.deleteEmployee(id);
         if (!success) {
             System.out.println("Error: com.cityhall.dms.Employee not found for deletion.");
+        } else if (store != null) {
+            store.deleted(id);
         }
         return success;
     }
@@ -71,8 +101,7 @@ public class EmployeeService {
             System.out.println("com.cityhall.dms.Employee is already inactive.");
             return false;
         }
-        ee.setActive(false);
-        return true;
+        return setActive(id, false);
     }
 
     //The below brings an inactive employee back to active
@@ -85,8 +114,7 @@ public class EmployeeService {
         if (ee.isActive()) {
             System.out.println("com.cityhall.dms.Employee is already active.");
         }
-        ee.setActive(true);
-        return true;
+        return setActive(id, true);
     }
 
     //The below searches for employees that match a keyword (like a name or a department)
@@ -94,9 +122,38 @@ public class EmployeeService {
         return repo.searchEmployees(keyword);
     }
 
+    //The below swaps everyone in memory for the employees read back from a snapshot (see com.cityhall.dms.EmployeeSnapshot)
+    public void restoreEmployees(List<Employee> employees, int nextId) {
+        repo.restoreEmployees(employees, nextId);
+        if (store != null) store.replaced();
+    }
+
+    //The below applies the changes saved in a journal file on top of what's in memory (see EmployeeJournal)
+    public EmployeeJournal.Replayed replayJournal(Path journalFile) throws IOException {
+        return EmployeeJournal.replay(journalFile, repo);
+    }
+
+    //The ID the next new employee will get (saved in snapshots along with the employees)
+    public int getNextId() {
+        return repo.getNextId();
+    }
+
     //The below clears all employees (For testing purposes)
     public void clearAllEmployees() {
         repo.clearAllEmployees();
+        if (store != null) store.cleared();
+    }
+
+    //Called by EmployeeStore when it starts (and stops) saving this service's changes
+    void setStore(EmployeeStore store) {
+        this.store = store;
+    }
+
+    //Deactivate and reactivate both end up here, so the change gets saved the same way for both
+    private boolean setActive(int id, boolean active) {
+        boolean success = repo.setActive(id, active);
+        if (success && store != null) store.activeChanged(id, active);
+        return success;
     }
 
     //The below method checks if employee data is valid (like no blank fields)
@@ -117,32 +174,24 @@ public class EmployeeService {
     }
 
     //The below method is an email validation that checks the email data is valid (looks like a regular email)
+    //It doesn't print anything; use checkEmail() to find out what was wrong
     public boolean validateEmailFormat(String email) {
-        if (email == null || email.isBlank()) {
-            System.out.println("Error: Email cannot be blank.");
-            return false;
-        }
-
-        //Basic pattern for email: text@text.domain
-        boolean isValid = email.matches(".+@.+\\..+");
-
-        if (!isValid) {
-            System.out.println("Error: Invalid email format. Please use something like name@domain.com");
-        }
+        return checkEmail(email).isValid();
+    }
 
-        return isValid;
+    //The below returns what's wrong with an email (or VALID), so the caller can show the right message
+    public EmailValidator.Result checkEmail(String email) {
+        return EmailValidator.check(email);
     }
 
-    //The below counts employees per department.  This is used by the custom action and testing
+    //The below counts employees per department.  This is used by the custom action and testing.
+    //The repository keeps these counts up to date as employees change, so this doesn't go through everyone.
     public java.util.Map<String, Integer> countByDepartment() {
-        java.util.Map<String, Integer> counts = new java.util.HashMap<>();
+        return repo.countByDepartment(false);
+    }
 
-        for (Employee e : getAllEmployees()) {
-            String dept = (e.getDepartment() == null || e.getDepartment().isBlank())
-                    ? "(Unknown)"
-                    : e.getDepartment().trim();
-            counts.put(dept, counts.getOrDefault(dept, 0) + 1);
-        }
-        return counts;
+    //The below counts only active employees per department (inactive ones are left out)
+    public java.util.Map<String, Integer> countActiveByDepartment() {
+        return repo.countByDepartment(true);
     }
-}
\ No newline at end of file
+}
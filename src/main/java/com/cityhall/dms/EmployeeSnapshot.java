@@ -0,0 +1,307 @@
+package com.cityhall.dms;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeSnapshot.java
+ * Saves everyone in the console app's memory to a small binary file and reads it back, so a session can pick up
+ * where the last one left off without re-parsing a TXT file.
+ *
+ * File layout (all numbers big-endian; "varint" = 7 bits per byte, high bit means another byte follows):
+ *   header     magic "EMPSNAP1" (8 bytes), format version (int), next ID (int), employee count (int)
+ *   dictionary how many entries (varint), then each entry as a string.  Departments and office locations repeat a
+ *              lot (and so do first names, last names and phone extensions), so each distinct value is stored once
+ *              here and employees just point at it.  Emails are all different, so they are stored inline.
+ *   employees  for each one, in ID order:
+ *                ID minus the previous ID (varint, usually 1)
+ *                first name, last name (dictionary references: varint, 0 = none, otherwise position + 1)
+ *                email (string)
+ *                department, phone, office location (dictionary references)
+ *                flags (byte: 1 = active, 2 = has a hire date)
+ *                hire date as days since 1970-01-01 (int, only if flag 2 is set)
+ *   trailer    CRC32 of everything above (long)
+ * A string is its UTF-8 length + 1 as a varint (0 means null) followed by the UTF-8 bytes.
+ *
+ * Saving writes a temp file and renames it over the old snapshot at the end, so a crash mid-save never leaves
+ * a half written snapshot behind.  Loading reads the whole file into memory with one channel read (it is not
+ * memory-mapped: on Windows a file that is still mapped can't be replaced by the next save's rename), checks the
+ * CRC, then decodes it from there.  Employees that share a department, office or name share the same String in
+ * memory as well.
+ */
+
+public final class EmployeeSnapshot {
+
+    //"EMPSNAP1" in ASCII
+    private static final long MAGIC = 0x454D50534E415031L;
+    private static final int VERSION = 1;
+
+    //magic + version + next ID + count
+    private static final int HEADER_BYTES = 8 + 4 + 4 + 4;
+    private static final int TRAILER_BYTES = 8;
+
+    private static final int FLAG_ACTIVE = 1;
+    private static final int FLAG_HIRE_DATE = 2;
+
+    //Bytes collected before each write to the file
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    //What was read back from a snapshot
+    public static final class Contents {
+        private final List<Employee> employees;
+        private final int nextId;
+
+        Contents(List<Employee> employees, int nextId) {
+            this.employees = employees;
+            this.nextId = nextId;
+        }
+
+        public List<Employee> getEmployees() {
+            return employees;
+        }
+
+        public int getNextId() {
+            return nextId;
+        }
+    }
+
+    private EmployeeSnapshot() {
+    }
+
+    //The below writes the employees (in increasing ID order, like getAllEmployees() gives them) to the file.
+    //Returns the size of the file in bytes.
+    public static long save(Path file, List<Employee> employees, int nextId) throws IOException {
+        //First pass: give every distinct value of the repeating fields a number
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        for (Employee e : employees) {
+            for (String value : new String[] {e.getFirstName(), e.getLastName(), e.getDepartment(), e.getPhone(),
+                    e.getOfficeLocation()}) {
+                if (value != null && dictionary.putIfAbsent(value, entries.size()) == null) {
+                    entries.add(value);
+                }
+            }
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel);
+            out.ensure(HEADER_BYTES);
+            out.buffer.putLong(MAGIC).putInt(VERSION).putInt(nextId).putInt(employees.size());
+
+            out.ensure(5);
+            putVarint(out.buffer, entries.size());
+            for (String entry : entries) {
+                out.putString(entry);
+            }
+
+            int previousId = 0;
+            for (Employee e : employees) {
+                if (e.getId() <= previousId) {
+                    throw new IllegalArgumentException("Employees have to be in increasing ID order, got "
+                            + e.getId() + " after " + previousId);
+                }
+                //ID and the two name references
+                out.ensure(5 + 5 + 5);
+                putVarint(out.buffer, e.getId() - previousId);
+                previousId = e.getId();
+                putVarint(out.buffer, reference(dictionary, e.getFirstName()));
+                putVarint(out.buffer, reference(dictionary, e.getLastName()));
+                out.putString(e.getEmail());
+
+                //Three dictionary references, flags and the hire date
+                out.ensure(5 + 5 + 5 + 1 + 4);
+                putVarint(out.buffer, reference(dictionary, e.getDepartment()));
+                putVarint(out.buffer, reference(dictionary, e.getPhone()));
+                putVarint(out.buffer, reference(dictionary, e.getOfficeLocation()));
+                int flags = (e.isActive() ? FLAG_ACTIVE : 0) | (e.getHireDate() != null ? FLAG_HIRE_DATE : 0);
+                out.buffer.put((byte) flags);
+                if (e.getHireDate() != null) {
+                    out.buffer.putInt((int) e.getHireDate().toEpochDay());
+                }
+            }
+            out.flush();
+
+            //The CRC covers everything written so far, so it goes in on its own after the last flush
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_BYTES).putLong(0, out.crc.getValue());
+            while (trailer.hasRemaining()) channel.write(trailer);
+
+            //Make sure the bytes are on disk before the rename makes this the snapshot
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(file);
+    }
+
+    //The below reads a snapshot back.  Throws an IOException if the file isn't a snapshot or has been damaged.
+    public static Contents load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("Not an employee snapshot (file is too small): " + file);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too big to load (over 2 GB): " + file);
+            }
+            return decode(readAll(channel, (int) size, file), file);
+        }
+    }
+
+    //The below reads the first size bytes of the file into a buffer on the heap (used instead of channel.map so
+    //nothing is left mapped, which would stop the file from being renamed over or truncated on Windows)
+    static ByteBuffer readAll(FileChannel channel, int size, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                throw new IOException("File got shorter while it was being read: " + file);
+            }
+        }
+        return buffer.flip();
+    }
+
+    //Checks the CRC and header, then reads the dictionary and the employees
+    private static Contents decode(ByteBuffer data, Path file) throws IOException {
+        int bodyEnd = data.limit() - TRAILER_BYTES;
+        if (data.getLong(0) != MAGIC) {
+            throw new IOException("Not an employee snapshot: " + file);
+        }
+        if (data.getInt(8) != VERSION) {
+            throw new IOException("Unsupported snapshot version " + data.getInt(8) + ": " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate().position(0).limit(bodyEnd));
+        if (crc.getValue() != data.getLong(bodyEnd)) {
+            throw new IOException("Snapshot checksum doesn't match, the file is damaged: " + file);
+        }
+
+        ByteBuffer in = data.duplicate().position(HEADER_BYTES).limit(bodyEnd);
+        int nextId = data.getInt(12);
+        int count = data.getInt(16);
+        try {
+            byte[] scratch = new byte[256];
+            String[] dictionary = new String[getVarint(in)];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = getString(in, scratch);
+            }
+
+            List<Employee> employees = new ArrayList<>(count);
+            int id = 0;
+            for (int i = 0; i < count; i++) {
+                id += getVarint(in);
+                String first = lookUp(dictionary, getVarint(in));
+                String last = lookUp(dictionary, getVarint(in));
+                String email = getString(in, scratch);
+                String department = lookUp(dictionary, getVarint(in));
+                String phone = lookUp(dictionary, getVarint(in));
+                String office = lookUp(dictionary, getVarint(in));
+                int flags = in.get();
+                LocalDate hireDate = (flags & FLAG_HIRE_DATE) != 0 ? LocalDate.ofEpochDay(in.getInt()) : null;
+
+                Employee e = new Employee(id, first, last, email, department, phone, office, hireDate);
+                e.setActive((flags & FLAG_ACTIVE) != 0);
+                employees.add(e);
+            }
+            if (in.hasRemaining()) {
+                throw new IOException("Snapshot has " + in.remaining() + " unexpected bytes at the end: " + file);
+            }
+            return new Contents(employees, nextId);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            //A good CRC with bad contents means the file was written by something else
+            throw new IOException("Snapshot contents don't add up: " + file, ex);
+        }
+    }
+
+    //Collects bytes in a buffer and writes them to the file a megabyte at a time, keeping a CRC as it goes
+    private static final class Output {
+        private final FileChannel channel;
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        //Makes sure the next n bytes fit in the buffer, writing it out first if they don't
+        void ensure(int n) throws IOException {
+            if (buffer.remaining() >= n) return;
+            flush();
+            if (buffer.capacity() < n) {
+                buffer = ByteBuffer.allocate(n);
+            }
+        }
+
+        void putString(String value) throws IOException {
+            if (value == null) {
+                ensure(1);
+                buffer.put((byte) 0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            ensure(5 + utf8.length);
+            putVarint(buffer, utf8.length + 1);
+            buffer.put(utf8);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.array(), 0, buffer.limit());
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    //0 for a missing value, otherwise the value's dictionary position + 1
+    private static int reference(Map<String, Integer> dictionary, String value) {
+        return value == null ? 0 : dictionary.get(value) + 1;
+    }
+
+    private static String lookUp(String[] dictionary, int reference) {
+        return reference == 0 ? null : dictionary[reference - 1];
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Bad number in file");
+    }
+
+    //Reads a string and decodes it from UTF-8, going through the scratch array (a bigger one is made for the
+    //rare string that doesn't fit).  The journal (com.cityhall.dms.EmployeeJournal) stores strings the same way.
+    static String getString(ByteBuffer in, byte[] scratch) throws IOException {
+        int length = getVarint(in) - 1;
+        if (length < 0) return null;
+        if (length > scratch.length) {
+            scratch = new byte[length];
+        }
+        in.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
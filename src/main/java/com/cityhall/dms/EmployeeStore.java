@@ -0,0 +1,181 @@
+package com.cityhall.dms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeStore.java
+ * Keeps the console app's employees on disk while they are still worked on in memory.  The store is two files:
+ * a snapshot (com.cityhall.dms.EmployeeSnapshot) of everyone as of the last compaction, and a journal
+ * (com.cityhall.dms.EmployeeJournal) with every change made since.
+ *
+ * - Opening the store loads the snapshot, replays the journal over it, then hooks into the EmployeeService so
+ *   each add, update, delete, deactivate, reactivate and clear is appended to the journal as it happens.
+ * - Once the journal grows past compactAfterBytes (and when the store is closed) it is compacted: everyone is
+ *   saved to a new snapshot and the journal starts over empty.  That keeps startup to one snapshot load plus a
+ *   short replay.  If the app dies between the two steps, the old journal is replayed over the new snapshot,
+ *   which gives the same result (see EmployeeJournal on why replaying twice is safe).
+ * - If a compaction fails (say the disk is full) the changes are still safe in the journal, so it is reported and
+ *   not tried again until the journal has grown by another compactAfterBytes.  Otherwise every later change would
+ *   try (and fail) to save everyone all over again.
+ *
+ * Meant for the single threaded console repository: the change is made in memory first and journaled right
+ * after, so with several threads changing the same employee the journal could get them in a different order.
+ */
+
+public class EmployeeStore implements Closeable {
+
+    //Start a fresh journal once it gets this big (loading 1,000,000 employees from TXT is about 85 MB of journal)
+    public static final long DEFAULT_COMPACT_AFTER_BYTES = 64L << 20;
+
+    private final EmployeeService service;
+    private final Path snapshotFile;
+    private final EmployeeJournal journal;
+    private final long compactAfterBytes;
+    private final int loadedFromSnapshot;
+    private final EmployeeJournal.Replayed replayed;
+    //Journal size at which the next automatic compaction is tried (pushed back after a failed one)
+    private long compactAt;
+
+    private EmployeeStore(EmployeeService service, Path snapshotFile, EmployeeJournal journal,
+                          long compactAfterBytes, int loadedFromSnapshot, EmployeeJournal.Replayed replayed) {
+        this.service = service;
+        this.snapshotFile = snapshotFile;
+        this.journal = journal;
+        this.compactAfterBytes = compactAfterBytes;
+        this.loadedFromSnapshot = loadedFromSnapshot;
+        this.replayed = replayed;
+        this.compactAt = compactAfterBytes;
+    }
+
+    //The below brings back what was saved (snapshot, then journal) into the service and starts journaling its changes.
+    //The service should be empty to begin with.  Throws an IOException if either file can't be read.
+    public static EmployeeStore open(EmployeeService service, Path snapshotFile, Path journalFile,
+                                     EmployeeJournal.FsyncPolicy policy, long syncIntervalMillis,
+                                     long compactAfterBytes) throws IOException {
+        int loaded = 0;
+        if (Files.exists(snapshotFile)) {
+            EmployeeSnapshot.Contents snapshot = EmployeeSnapshot.load(snapshotFile);
+            service.restoreEmployees(snapshot.getEmployees(), snapshot.getNextId());
+            loaded = snapshot.getEmployees().size();
+        }
+        EmployeeJournal.Replayed replayed = service.replayJournal(journalFile);
+        EmployeeJournal journal = EmployeeJournal.open(journalFile, policy, syncIntervalMillis);
+
+        EmployeeStore store = new EmployeeStore(service, snapshotFile, journal, compactAfterBytes, loaded, replayed);
+        service.setStore(store);
+        return store;
+    }
+
+    //How many employees the snapshot had when the store was opened
+    public int getLoadedFromSnapshot() {
+        return loadedFromSnapshot;
+    }
+
+    //What replaying the journal did when the store was opened
+    public EmployeeJournal.Replayed getReplayed() {
+        return replayed;
+    }
+
+    public EmployeeJournal getJournal() {
+        return journal;
+    }
+
+    //The below saves everyone to the snapshot and empties the journal
+    public void compact() throws IOException {
+        EmployeeSnapshot.save(snapshotFile, service.getAllEmployees(), service.getNextId());
+        journal.reset();
+        compactAt = compactAfterBytes;
+    }
+
+    //The below compacts (if the journal has anything in it) and closes the journal
+    @Override
+    public void close() throws IOException {
+        service.setStore(null);
+        try {
+            if (!journal.isEmpty()) {
+                compact();
+            }
+        } finally {
+            journal.close();
+        }
+    }
+
+    //The below are called by EmployeeService after each change it makes.  A failed write is reported, but the
+    //change stays in memory (it just won't be there after a restart).
+    void added(Employee e) {
+        try {
+            journal.logPut(e);
+        } catch (IOException ioe) {
+            reportFailure(ioe);
+            return;
+        }
+        compactIfBig();
+    }
+
+    void updated(Employee e) {
+        added(e);
+    }
+
+    void deleted(int id) {
+        try {
+            journal.logDelete(id);
+        } catch (IOException ioe) {
+            reportFailure(ioe);
+            return;
+        }
+        compactIfBig();
+    }
+
+    void activeChanged(int id, boolean active) {
+        try {
+            journal.logSetActive(id, active);
+        } catch (IOException ioe) {
+            reportFailure(ioe);
+            return;
+        }
+        compactIfBig();
+    }
+
+    void cleared() {
+        try {
+            journal.logClear();
+        } catch (IOException ioe) {
+            reportFailure(ioe);
+            return;
+        }
+        compactIfBig();
+    }
+
+    //Everyone was swapped out at once (a snapshot restore), so start the store over from what's in memory now
+    void replaced() {
+        try {
+            compact();
+        } catch (IOException ioe) {
+            //Nothing was journaled for the restore itself, so without the new snapshot it really is lost
+            reportFailure(ioe);
+        }
+    }
+
+    //The below compacts once the journal is big enough.  The change that got us here is already in the journal,
+    //so a failure here loses nothing; it just means startup will have more to replay until a later try works.
+    private void compactIfBig() {
+        if (journal.size() < compactAt) return;
+        try {
+            compact();
+        } catch (IOException ioe) {
+            compactAt = journal.size() + compactAfterBytes;
+            System.out.println("Error: Compaction failed, so the journal keeps growing (your changes are still saved "
+                    + "in it; will try again after another " + compactAfterBytes + " bytes): " + ioe.getMessage());
+        }
+    }
+
+    private static void reportFailure(IOException ioe) {
+        System.out.println("Error: Could not save the change to disk (it won't be there after a restart): "
+                + ioe.getMessage());
+    }
+}
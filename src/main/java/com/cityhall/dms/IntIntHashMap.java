@@ -0,0 +1,148 @@
+package com.cityhall.dms;
+
+import java.util.Arrays;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.IntIntHashMap.java
+ * A small hash map from int keys to int values, used by the com.cityhall.dms.EmployeeRepository
+ * to find an employee's position from their ID without scanning the whole list.
+ * Keys and values are kept in plain int arrays (open addressing, linear probing), so nothing gets boxed
+ * into an Integer on a lookup.
+ */
+
+public class IntIntHashMap {
+
+    //The below is returned by get() when the key isn't in the map
+    public static final int NO_VALUE = -1;
+
+    //Slots that have never been used (or were freed) hold this key.  0 is never a valid employee ID.
+    private static final int FREE = 0;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    //The below returns the value stored for the key, or NO_VALUE if it isn't there
+    public int get(int key) {
+        if (key == FREE) return NO_VALUE;
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) return values[i];
+            i = (i + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != NO_VALUE;
+    }
+
+    //The below adds or replaces the value for a key.  Key 0 is reserved, so it's rejected.
+    public void put(int key, int value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (mask + 1) / 2) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    //The below removes a key and returns its old value (or NO_VALUE if it wasn't there)
+    public int remove(int key) {
+        if (key == FREE) return NO_VALUE;
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                int old = values[i];
+                shiftBack(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    //After a removal, slide later entries of the same probe chain back so lookups never stop early
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            int k = keys[i];
+            if (k == FREE) break;
+            int home = slot(k);
+            //Only move the entry if its home slot isn't between the gap and where it sits now
+            boolean movable = (gap <= i) ? (home <= gap || home > i) : (home <= gap && home > i);
+            if (movable) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE;
+    }
+
+    private int slot(int key) {
+        //Sequential IDs would all land next to each other, so mix the bits first
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int k = oldKeys[j];
+            if (k != FREE) {
+                int i = slot(k);
+                while (keys[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,145 @@
+package com.cityhall.dms;
+
+import java.util.Arrays;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.LongObjectHashMap.java
+ * A small hash map from long keys to objects, used by com.cityhall.dms.TrigramIndex to go from a trigram to the
+ * list of employees that contain it.  Works like com.cityhall.dms.IntIntHashMap (open addressing, linear probing)
+ * with the keys kept in a plain long array, so nothing gets boxed into a Long on an add, remove or lookup.
+ */
+
+public class LongObjectHashMap<V> {
+
+    //Slots that have never been used (or were freed) hold this key.  Trigrams are never negative.
+    private static final long FREE = -1L;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    //The below returns the value stored for the key, or null if it isn't there
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == FREE) return null;
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) return (V) values[i];
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    //The below adds or replaces the value for a key.  Key -1 is reserved, so it's rejected.
+    public void put(long key, V value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Key -1 is reserved");
+        }
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (mask + 1) / 2) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    //The below removes a key and returns its old value (or null if it wasn't there)
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == FREE) return null;
+        int i = slot(key);
+        while (keys[i] != FREE) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                shiftBack(i);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    //After a removal, slide later entries of the same probe chain back so lookups never stop early
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            long k = keys[i];
+            if (k == FREE) break;
+            int home = slot(k);
+            //Only move the entry if its home slot isn't between the gap and where it sits now
+            boolean movable = (gap <= i) ? (home <= gap || home > i) : (home <= gap && home > i);
+            if (movable) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE;
+        values[gap] = null;
+    }
+
+    private int slot(long key) {
+        //Trigrams that share letters differ in only a few bits, so mix them all into the low ones first
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long k = oldKeys[j];
+            if (k != FREE) {
+                int i = slot(k);
+                while (keys[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,151 @@
+package com.cityhall.dms;
+
+import java.util.Arrays;
+
+/**Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.TrigramIndex.java
+ * An inverted index of 3-letter chunks ("trigrams") for the keyword search in com.cityhall.dms.EmployeeRepository.
+ * Every lowercased field is cut into overlapping trigrams ("smith" -> "smi", "mit", "ith") and each trigram
+ * remembers which employee IDs contain it.  A search keyword can only be inside a field if all of its trigrams
+ * are, so intersecting those ID lists gives a short list of candidates that the repository double checks.
+ */
+
+public class TrigramIndex {
+
+    //Trigram -> sorted list of employee IDs that contain it (keyed by the packed long, so nothing gets boxed)
+    private final LongObjectHashMap<Postings> postings = new LongObjectHashMap<>();
+
+    //The below returns the distinct trigrams of the given (already lowercased) fields, sorted
+    public static long[] gramsOf(String... lowerFields) {
+        int total = 0;
+        for (String f : lowerFields) {
+            if (f != null && f.length() >= 3) total += f.length() - 2;
+        }
+        long[] grams = new long[total];
+        int n = 0;
+        for (String f : lowerFields) {
+            if (f == null) continue;
+            for (int i = 0; i + 3 <= f.length(); i++) {
+                grams[n++] = gram(f, i);
+            }
+        }
+        Arrays.sort(grams);
+
+        //Squeeze out duplicates so each trigram only points at the employee once
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == grams.length ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+    //The below records that the employee with this ID contains all of these trigrams
+    public void add(int id, long[] grams) {
+        for (long g : grams) {
+            Postings p = postings.get(g);
+            if (p == null) {
+                p = new Postings();
+                postings.put(g, p);
+            }
+            p.add(id);
+        }
+    }
+
+    //The below forgets an employee.  The grams have to be the same ones that were passed to add().
+    public void remove(int id, long[] grams) {
+        for (long g : grams) {
+            Postings p = postings.get(g);
+            if (p != null && p.remove(id) && p.size == 0) {
+                postings.remove(g);
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Returns the sorted IDs of employees that contain every trigram of the keyword, or null if the keyword
+     * is shorter than 3 letters (too short to use the index, so the caller has to check everyone).
+     * The IDs are only candidates; a match on the trigrams doesn't always mean the keyword is in one field.
+     */
+    public int[] candidates(String lowerKeyword) {
+        if (lowerKeyword.length() < 3) return null;
+
+        long[] grams = gramsOf(lowerKeyword);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) return new int[0]; //A trigram nobody has, so nobody can match
+        }
+
+        //Start with the shortest list, that way every step can only get smaller
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int count = result.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = intersect(result, count, lists[i]);
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    //Keeps only the IDs in ids[0..count) that are also in the posting list.  Both are sorted.
+    private static int intersect(int[] ids, int count, Postings other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < other.size; i++) {
+            int id = ids[i];
+            while (j < other.size && other.ids[j] < id) j++;
+            if (j < other.size && other.ids[j] == id) {
+                ids[kept++] = id;
+            }
+        }
+        return kept;
+    }
+
+    //Packs three chars into one long so the trigram can be a map key without making a String
+    private static long gram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    //A growable, sorted array of employee IDs
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            //New employees get the highest ID so far, so this is almost always a plain append
+            if (size == 0 || ids[size - 1] < id) {
+                grow();
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+            pos = -pos - 1;
+            grow();
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.cityhall.dms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.ConcurrentEmployeeRepositoryTest.java
+ *
+ * This class hammers the thread safe repository (com.cityhall.dms.ConcurrentEmployeeRepository) from 32 threads
+ * at once: adding, looking up, updating, deactivating, deleting, searching and taking snapshots all at the same time.
+ * Afterwards every ID has to be unique, and the search results and department counts have to match what you get
+ * by checking every remaining employee by hand.
+ */
+
+class ConcurrentEmployeeRepositoryTest {
+
+    private static final int THREADS = 32;
+    private static final int ADDS_PER_THREAD = 2_000;
+    private static final String[] DEPARTMENTS = {"Police", "Finance", "Public Works", "Parks & Recreation"};
+
+    private static Employee employee(int thread, int n) {
+        return new Employee(null, "First" + thread, "Last" + n, "t" + thread + "n" + n + "@cityhall.com",
+                DEPARTMENTS[(thread + n) % DEPARTMENTS.length], "1234", "PW-100", null);
+    }
+
+    @org.junit.jupiter.api.Test
+    void stressTest_32ThreadsKeepIdsIndexesAndCountsConsistent() throws Exception {
+        ConcurrentEmployeeRepository repo = new ConcurrentEmployeeRepository();
+        EmployeeService service = new EmployeeService(repo);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        Queue<Integer> assignedIds = new ConcurrentLinkedQueue<>();
+        AtomicInteger deleted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                Random rnd = new Random(thread);
+                List<Integer> mine = new ArrayList<>();
+                try {
+                    start.await();
+                    for (int n = 0; n < ADDS_PER_THREAD; n++) {
+                        Employee e = employee(thread, n);
+                        assertTrue(service.addEmployee(e));
+                        assignedIds.add(e.getId());
+                        mine.add(e.getId());
+
+                        //Look up someone this thread added
+                        int id = mine.get(rnd.nextInt(mine.size()));
+                        Employee found = service.getEmployeeById(id);
+
+                        switch (rnd.nextInt(10)) {
+                            case 0 -> {
+                                if (found != null) {
+                                    Employee changed = new Employee(id, found.getFirstName(), "Moved" + n,
+                                            found.getEmail(), DEPARTMENTS[rnd.nextInt(DEPARTMENTS.length)],
+                                            "1234", "PW-100", null);
+                                    assertTrue(service.updateEmployee(changed));
+                                }
+                            }
+                            case 1 -> service.deactivateEmployee(id);
+                            case 2 -> {
+                                if (repo.deleteEmployee(id)) {
+                                    deleted.incrementAndGet();
+                                    mine.remove(Integer.valueOf(id));
+                                }
+                            }
+                            case 3 -> service.searchEmployees("last" + rnd.nextInt(ADDS_PER_THREAD));
+                            case 4 -> {
+                                if (n % 50 == 0) {
+                                    //A snapshot has to be in ID order with no duplicates
+                                    List<Employee> snapshot = service.getAllEmployees();
+                                    for (int i = 1; i < snapshot.size(); i++) {
+                                        assertTrue(snapshot.get(i - 1).getId() < snapshot.get(i).getId());
+                                    }
+                                }
+                            }
+                            default -> service.countByDepartment();
+                        }
+                        if (mine.isEmpty()) mine.add(e.getId());
+                    }
+                } catch (Throwable ex) {
+                    failures.add(ex);
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+        assertTrue(failures.isEmpty(), () -> "failures: " + failures);
+
+        //Every add got its own ID, and they are exactly 1..N with no gaps or repeats
+        int totalAdds = THREADS * ADDS_PER_THREAD;
+        Set<Integer> ids = new HashSet<>(assignedIds);
+        assertEquals(totalAdds, ids.size());
+        for (int id = 1; id <= totalAdds; id++) {
+            assertTrue(ids.contains(id), "missing id " + id);
+        }
+
+        List<Employee> remaining = service.getAllEmployees();
+        assertEquals(totalAdds - deleted.get(), remaining.size());
+        assertEquals(remaining.size(), service.size());
+
+        //Department counts (all and active) match a count done by hand
+        Map<String, Integer> all = new HashMap<>();
+        Map<String, Integer> active = new HashMap<>();
+        for (Employee e : remaining) {
+            all.merge(e.getDepartment(), 1, Integer::sum);
+            if (e.isActive()) active.merge(e.getDepartment(), 1, Integer::sum);
+        }
+        assertEquals(all, service.countByDepartment());
+        assertEquals(active, service.countActiveByDepartment());
+
+        //The search index matches a search done by hand, for both indexed and too-short keywords
+        for (String keyword : new String[] {"moved1", "last199", "t7n", "police", "@c"}) {
+            List<Employee> expected = new ArrayList<>();
+            for (Employee e : remaining) {
+                if (AbstractEmployeeRepository.matchesKeyword(e, keyword)) expected.add(e);
+            }
+            assertEquals(expected, service.searchEmployees(keyword), "keyword: " + keyword);
+        }
+
+        service.clearAllEmployees();
+        assertTrue(service.getAllEmployees().isEmpty());
+        assertEquals(0, service.size());
+        Employee again = employee(0, 0);
+        assertTrue(service.addEmployee(again));
+        assertEquals(1, again.getId());
+    }
+
+    //An employee someone already got back (from getEmployeeById or a getAllEmployees list) doesn't change under
+    //them when the employee is updated or deactivated later; they have to look it up again to see the change
+    @org.junit.jupiter.api.Test
+    void earlierReads_areNotChangedByLaterUpdates() {
+        ConcurrentEmployeeRepository repo = new ConcurrentEmployeeRepository();
+        repo.addEmployee(employee(1, 1));
+        Employee before = repo.getEmployeeById(1);
+        List<Employee> all = repo.getAllEmployees();
+
+        Employee changed = employee(2, 2);
+        changed.setId(1);
+        assertTrue(repo.updateEmployee(changed));
+        assertTrue(repo.setActive(1, false));
+
+        assertEquals("First1", before.getFirstName());
+        assertTrue(before.isActive());
+        assertEquals("Last1", all.get(0).getLastName());
+        assertTrue(all.get(0).isActive());
+
+        Employee after = repo.getEmployeeById(1);
+        assertEquals("First2", after.getFirstName());
+        assertFalse(after.isActive());
+        assertEquals(1, repo.searchEmployees("first2").size());
+        assertEquals(0, repo.searchEmployees("first1").size());
+    }
+}
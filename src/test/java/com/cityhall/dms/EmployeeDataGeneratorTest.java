@@ -0,0 +1,97 @@
+package com.cityhall.dms;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeDataGeneratorTest.java
+ *
+ * This class tests the load testing data generator (com.cityhall.dms.EmployeeDataGenerator).
+ * It checks that the same seed gives the same file, that the TXT output can be read back by the import parser,
+ * and that the SQL output is made of complete statements inside transactions.
+ */
+
+class EmployeeDataGeneratorTest {
+
+    private static String txt(long seed, int rows) throws Exception {
+        StringWriter out = new StringWriter();
+        new EmployeeDataGenerator(seed).writeTxt(out, rows);
+        return out.toString();
+    }
+
+    //Same seed = same employees, different seed = different employees
+    @org.junit.jupiter.api.Test
+    void writeTxt_isRepeatableForTheSameSeed() throws Exception {
+        assertEquals(txt(7, 500), txt(7, 500));
+        assertNotEquals(txt(7, 500), txt(8, 500));
+    }
+
+    //Everything generated should import cleanly and pass the service's validation, with no duplicate emails
+    @org.junit.jupiter.api.Test
+    void writeTxt_importsWithoutErrors() throws Exception {
+        EmployeeTxtParser<Employee> parser = new EmployeeTxtParser<>(
+                (first, last, email, dept, phone, office, hire) ->
+                        new Employee(null, first, last, email, dept, phone, office, hire));
+        byte[] bytes = txt(42, 20_000).getBytes(StandardCharsets.UTF_8);
+        EmployeeTxtParser.Result<Employee> result = parser.parse(ByteBuffer.wrap(bytes));
+
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+        assertEquals(20_000, result.getEmployees().size());
+
+        EmployeeService service = new EmployeeService();
+        Set<String> emails = new HashSet<>();
+        Map<String, Integer> perDepartment = new HashMap<>();
+        for (Employee e : result.getEmployees()) {
+            assertTrue(service.addEmployee(e), () -> "rejected: " + e.getEmail());
+            assertTrue(emails.add(e.getEmail()), () -> "duplicate email: " + e.getEmail());
+            perDepartment.merge(e.getDepartment(), 1, Integer::sum);
+        }
+
+        //The biggest department should be much bigger than the smallest one
+        assertTrue(perDepartment.get("Police") > 5 * perDepartment.get("City Manager"), perDepartment::toString);
+    }
+
+    //Every INSERT has to be finished and every BEGIN has to have a COMMIT, even when the rows don't divide evenly
+    @org.junit.jupiter.api.Test
+    void writeSql_writesWholeStatementsInTransactions() throws Exception {
+        StringWriter out = new StringWriter();
+        new EmployeeDataGenerator(42).writeSql(out, 1_234, 100);
+        String sql = out.toString();
+
+        assertEquals(1, count(sql, "BEGIN TRANSACTION;"));
+        assertEquals(1, count(sql, "COMMIT;"));
+        assertEquals(13, count(sql, "INSERT INTO employee"));
+        assertEquals(1_234, count(sql, "@cityhall.com'"));
+        assertTrue(sql.endsWith(";\nCOMMIT;\n"));
+        //O'Brien has to come out as 'O''Brien'
+        assertFalse(sql.contains("'O'Brien'"));
+    }
+
+    //Fewer than 1 row per INSERT would loop forever writing empty statements, so it's turned down up front
+    @org.junit.jupiter.api.Test
+    void writeSql_rejectsBadCounts() {
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(42);
+        StringWriter out = new StringWriter();
+        assertThrows(IllegalArgumentException.class, () -> generator.writeSql(out, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> generator.writeSql(out, 10, -5));
+        assertThrows(IllegalArgumentException.class, () -> generator.writeSql(out, -1, 100));
+        assertEquals("", out.toString());
+    }
+
+    private static int count(String text, String part) {
+        int n = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + part.length())) {
+            n++;
+        }
+        return n;
+    }
+}
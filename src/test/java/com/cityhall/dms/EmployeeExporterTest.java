@@ -0,0 +1,89 @@
+package com.cityhall.dms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeExporterTest.java
+ *
+ * This class tests the CSV/NDJSON/SQL export writer (com.cityhall.dms.EmployeeExporter).
+ * It checks that awkward values (commas, quotes, line breaks, missing fields) are escaped for each format,
+ * that the SQL output is wrapped in transactions, and that the gzip option gives back the same text.
+ */
+
+class EmployeeExporterTest {
+
+    private static String export(EmployeeExporter.Format format, boolean gzip) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (EmployeeExporter exporter = new EmployeeExporter(bytes, format, gzip)) {
+            exporter.write(1, "Ann", "Lee", "alee@cityhall.com", "Parks & Recreation", "2112", "PR-025",
+                    LocalDate.of(2019, 8, 20), true);
+            exporter.write(2, "Conan", "O'Brien, Jr.", "cobrien@cityhall.com", "Say \"hi\"", null, "Line\nbreak",
+                    null, false);
+            assertEquals(2, exporter.getRows());
+        }
+        if (!gzip) return bytes.toString(StandardCharsets.UTF_8);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    //CSV gets a header row, and only the fields that need it are quoted
+    @org.junit.jupiter.api.Test
+    void csv_quotesOnlyWhenNeeded() throws Exception {
+        String csv = export(EmployeeExporter.Format.CSV, false);
+        assertEquals("id,first_name,last_name,email,department,phone,office_location,hire_date,active\n"
+                + "1,Ann,Lee,alee@cityhall.com,Parks & Recreation,2112,PR-025,2019-08-20,true\n"
+                + "2,Conan,\"O'Brien, Jr.\",cobrien@cityhall.com,\"Say \"\"hi\"\"\",,\"Line\nbreak\",,false\n", csv);
+    }
+
+    //Every NDJSON line is one complete JSON object, with line breaks inside values escaped
+    @org.junit.jupiter.api.Test
+    void ndjson_writesOneObjectPerLine() throws Exception {
+        String[] lines = export(EmployeeExporter.Format.NDJSON, false).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"alee@cityhall.com\","
+                + "\"department\":\"Parks & Recreation\",\"phone\":\"2112\",\"officeLocation\":\"PR-025\","
+                + "\"hireDate\":\"2019-08-20\",\"active\":true}", lines[0]);
+        assertTrue(lines[1].contains("\"department\":\"Say \\\"hi\\\"\""));
+        assertTrue(lines[1].contains("\"phone\":null"));
+        assertTrue(lines[1].contains("\"officeLocation\":\"Line\\nbreak\""));
+        assertTrue(lines[1].endsWith("\"hireDate\":null,\"active\":false}"));
+    }
+
+    //SQL keeps the IDs, doubles single quotes, writes NULLs and commits at the end
+    @org.junit.jupiter.api.Test
+    void sql_isOneTransactionOfInserts() throws Exception {
+        String sql = export(EmployeeExporter.Format.SQL, false);
+        assertTrue(sql.contains("BEGIN TRANSACTION;\n"));
+        assertTrue(sql.contains("VALUES (2, 'Conan', 'O''Brien, Jr.', 'cobrien@cityhall.com', 'Say \"hi\"', NULL, "
+                + "'Line\nbreak', NULL, 0);\n"));
+        assertTrue(sql.endsWith("COMMIT;\n"));
+        assertEquals(2, sql.split("INSERT INTO employee ", -1).length - 1);
+    }
+
+    //Gzipped output unpacks to exactly the plain output
+    @org.junit.jupiter.api.Test
+    void gzip_givesBackTheSameText() throws Exception {
+        for (EmployeeExporter.Format format : EmployeeExporter.Format.values()) {
+            assertEquals(export(format, false), export(format, true), format.name());
+        }
+    }
+
+    //Format names are looked up without caring about case, and unknown ones come back as null
+    @org.junit.jupiter.api.Test
+    void fromName_acceptsAnyCase() {
+        assertEquals(EmployeeExporter.Format.CSV, EmployeeExporter.Format.fromName("CSV"));
+        assertEquals(EmployeeExporter.Format.NDJSON, EmployeeExporter.Format.fromName(" ndjson "));
+        assertNull(EmployeeExporter.Format.fromName("xml"));
+        assertEquals("employees.sql.gz", EmployeeExporter.fileName("employees", EmployeeExporter.Format.SQL, true));
+    }
+}
@@ -0,0 +1,226 @@
+package com.cityhall.dms;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeJournalTest.java
+ *
+ * This class tests saving changes to disk as they happen (com.cityhall.dms.EmployeeJournal and
+ * com.cityhall.dms.EmployeeStore).  It checks that every kind of change comes back after the app stops without
+ * shutting down properly, that a change cut off halfway through writing is dropped instead of breaking the
+ * replay, and that compaction (including a crash in the middle of it) doesn't lose or repeat anything.
+ */
+
+class EmployeeJournalTest {
+
+    @org.junit.jupiter.api.io.TempDir
+    Path dir;
+
+    private EmployeeStore open(EmployeeService service, EmployeeJournal.FsyncPolicy policy, long compactAfterBytes)
+            throws Exception {
+        return EmployeeStore.open(service, dir.resolve("test.snap"), dir.resolve("test.journal"), policy, 10,
+                compactAfterBytes);
+    }
+
+    //Every field of everyone in memory, so two services can be compared in one assert
+    private static List<String> state(EmployeeService service) {
+        List<String> lines = new ArrayList<>();
+        for (Employee e : service.getAllEmployees()) {
+            lines.add(e.getId() + "|" + e.getFirstName() + "|" + e.getLastName() + "|" + e.getEmail() + "|"
+                    + e.getDepartment() + "|" + e.getPhone() + "|" + e.getOfficeLocation() + "|" + e.getHireDate()
+                    + "|" + e.isActive());
+        }
+        lines.add("next=" + service.getNextId());
+        return lines;
+    }
+
+    private static void makeChanges(EmployeeService service) {
+        service.addEmployee(new Employee(null, "Veronica", "Mendez", "vmendez@cityhall.com",
+                "Information Technology", "3025", "IT-013", LocalDate.of(2020, 6, 27)));
+        service.addEmployee(new Employee(null, "José", "Núñez", "jnunez@cityhall.com",
+                "Parks & Recreation", null, null, null));
+        service.addEmployee(new Employee(null, "Lisa", "Chandler", "lchandler@cityhall.com",
+                "Finance", "1425", "FN-009", LocalDate.of(2012, 1, 30)));
+        service.updateEmployee(new Employee(1, "Veronica", "Mendez-Ruiz", "vmendez@cityhall.com",
+                "Finance", "3025", "FN-001", LocalDate.of(2020, 6, 27)));
+        service.deactivateEmployee(2);
+        service.deactivateEmployee(3);
+        service.reactivateEmployee(3);
+        service.deleteEmployee(3);
+    }
+
+    //Adds, updates, deletes, deactivations and reactivations all come back after the app dies without closing
+    @org.junit.jupiter.api.Test
+    void changes_comeBackAfterACrash() throws Exception {
+        EmployeeService before = new EmployeeService();
+        EmployeeStore crashed = open(before, EmployeeJournal.FsyncPolicy.ALWAYS,
+                EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES);
+        makeChanges(before);
+        assertEquals(8, crashed.getJournal().getRecords());
+        //Stop without compacting, like a killed process
+        crashed.getJournal().close();
+        assertFalse(Files.exists(dir.resolve("test.snap")));
+
+        EmployeeService after = new EmployeeService();
+        try (EmployeeStore store = open(after, EmployeeJournal.FsyncPolicy.INTERVAL,
+                EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES)) {
+            assertEquals(8, store.getReplayed().getRecords());
+            assertEquals(state(before), state(after));
+            assertEquals(before.countActiveByDepartment(), after.countActiveByDepartment());
+            assertEquals(1, after.searchEmployees("mendez-ruiz").size());
+
+            //The deleted ID isn't handed out again
+            Employee added = new Employee(null, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001", null);
+            assertTrue(after.addEmployee(added));
+            assertEquals(4, added.getId());
+        }
+    }
+
+    //A change that was cut off halfway through being written is dropped, and later changes still replay
+    @org.junit.jupiter.api.Test
+    void cutOffRecord_isDroppedOnReplay() throws Exception {
+        Path journal = dir.resolve("test.journal");
+        EmployeeService first = new EmployeeService();
+        EmployeeStore store = open(first, EmployeeJournal.FsyncPolicy.NEVER,
+                EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES);
+        makeChanges(first);
+        long beforeLast = Files.size(journal);
+        first.addEmployee(new Employee(null, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001", null));
+        store.getJournal().close();
+
+        //Lose the end of the last record, like a power cut in the middle of the write
+        byte[] bytes = Files.readAllBytes(journal);
+        Files.write(journal, Arrays.copyOf(bytes, bytes.length - 5));
+
+        EmployeeService second = new EmployeeService();
+        store = open(second, EmployeeJournal.FsyncPolicy.NEVER, EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES);
+        assertEquals(8, store.getReplayed().getRecords());
+        assertEquals(bytes.length - 5 - beforeLast, store.getReplayed().getDiscardedBytes());
+        assertEquals(beforeLast, Files.size(journal));
+        assertNull(second.getEmployeeById(4));
+
+        second.addEmployee(new Employee(null, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001", null));
+        store.getJournal().close();
+
+        EmployeeService third = new EmployeeService();
+        try (EmployeeStore reopened = open(third, EmployeeJournal.FsyncPolicy.NEVER,
+                EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES)) {
+            assertEquals(0, reopened.getReplayed().getDiscardedBytes());
+            assertEquals(state(second), state(third));
+            assertEquals("Ann", third.getEmployeeById(4).getFirstName());
+        }
+    }
+
+    //Compaction moves everything into the snapshot, and a crash between saving it and emptying the journal
+    //(so the same changes get replayed over a snapshot that already has them) gives the same employees
+    @org.junit.jupiter.api.Test
+    void compaction_keepsEverything() throws Exception {
+        EmployeeService before = new EmployeeService();
+        //Compact after every change
+        EmployeeStore store = open(before, EmployeeJournal.FsyncPolicy.ALWAYS, 1);
+        makeChanges(before);
+        assertEquals(0, store.getJournal().getRecords());
+        store.close();
+
+        EmployeeService after = new EmployeeService();
+        store = open(after, EmployeeJournal.FsyncPolicy.ALWAYS, EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES);
+        assertEquals(2, store.getLoadedFromSnapshot());
+        assertEquals(0, store.getReplayed().getRecords());
+        assertEquals(state(before), state(after));
+
+        //Journal some more, then save a snapshot but "crash" before the journal is emptied
+        after.addEmployee(new Employee(null, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001", null));
+        after.deactivateEmployee(1);
+        after.deleteEmployee(2);
+        EmployeeSnapshot.save(dir.resolve("test.snap"), after.getAllEmployees(), after.getNextId());
+        store.getJournal().close();
+
+        EmployeeService replayedTwice = new EmployeeService();
+        try (EmployeeStore reopened = open(replayedTwice, EmployeeJournal.FsyncPolicy.ALWAYS,
+                EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES)) {
+            assertEquals(3, reopened.getReplayed().getRecords());
+            assertEquals(state(after), state(replayedTwice));
+            assertEquals(after.countByDepartment(), replayedTwice.countByDepartment());
+        }
+    }
+
+    //Clearing everyone is journaled too (IDs start over), and restoring a snapshot starts the store over from it
+    @org.junit.jupiter.api.Test
+    void clearAndRestore_areSaved() throws Exception {
+        EmployeeService before = new EmployeeService();
+        EmployeeStore store = open(before, EmployeeJournal.FsyncPolicy.INTERVAL,
+                EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES);
+        makeChanges(before);
+        Path other = dir.resolve("other.snap");
+        EmployeeSnapshot.save(other, before.getAllEmployees(), before.getNextId());
+        List<String> saved = state(before);
+
+        before.clearAllEmployees();
+        before.addEmployee(new Employee(null, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001", null));
+        assertEquals(1, before.getAllEmployees().get(0).getId());
+        store.getJournal().close();
+
+        EmployeeService after = new EmployeeService();
+        store = open(after, EmployeeJournal.FsyncPolicy.INTERVAL, EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES);
+        assertEquals(state(before), state(after));
+
+        EmployeeSnapshot.Contents contents = EmployeeSnapshot.load(other);
+        after.restoreEmployees(contents.getEmployees(), contents.getNextId());
+        assertEquals(0, store.getJournal().getRecords());
+        store.getJournal().close();
+
+        EmployeeService restored = new EmployeeService();
+        try (EmployeeStore reopened = open(restored, EmployeeJournal.FsyncPolicy.INTERVAL,
+                EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES)) {
+            //The restore started the store over, so everything comes from the snapshot
+            assertEquals(0, reopened.getReplayed().getRecords());
+            assertEquals(saved, state(restored));
+        }
+    }
+
+    //A failed compaction isn't retried on every change after it, only once the journal has grown by another
+    //compactAfterBytes, and nothing is lost while it keeps failing
+    @org.junit.jupiter.api.Test
+    void failedCompaction_backsOff() throws Exception {
+        EmployeeService service = new EmployeeService();
+        EmployeeStore store = open(service, EmployeeJournal.FsyncPolicy.NEVER, 300);
+        //A directory where the snapshot's temp file goes makes every save fail
+        Path blocker = Files.createDirectory(dir.resolve("test.snap.tmp"));
+
+        makeChanges(service);
+        long failedAt = store.getJournal().getRecords();
+        assertTrue(store.getJournal().size() >= 300);
+
+        //Saving would work now, but the next change is too soon to try again
+        Files.delete(blocker);
+        service.addEmployee(new Employee(null, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001", null));
+        assertEquals(failedAt + 1, store.getJournal().getRecords());
+        assertFalse(Files.exists(dir.resolve("test.snap")));
+
+        //Once it has grown by another 300 bytes it compacts again
+        for (int i = 0; i < 10 && store.getJournal().getRecords() > 0; i++) {
+            service.deactivateEmployee(1);
+            service.reactivateEmployee(1);
+        }
+        assertEquals(0, store.getJournal().getRecords());
+        List<String> expected = state(service);
+        store.getJournal().close();
+
+        EmployeeService after = new EmployeeService();
+        try (EmployeeStore reopened = open(after, EmployeeJournal.FsyncPolicy.NEVER,
+                EmployeeStore.DEFAULT_COMPACT_AFTER_BYTES)) {
+            //The compaction that finally worked emptied the journal
+            assertEquals(0, reopened.getReplayed().getRecords());
+            assertEquals(expected, state(after));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.cityhall.dms;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -60,6 +62,19 @@ class EmployeeServiceTest {
         assertEquals(0, service.getAllEmployees().size());
     }
 
+    //The below checks that the email check still accepts and rejects the same things the old regex did
+    @org.junit.jupiter.api.Test
+    void checkEmail_matchesOldRegexRules() {
+        String[] emails = {"a@b.c", "robert.yantin@cityhall.com", "a@@b.c", "@b.c", "a@.c", "a@b.", "a@bc",
+                "a.b@c", "a@b.c.", " @ . ", "a@b\n.c", "", "   ", null};
+        for (String email : emails) {
+            boolean oldRule = email != null && !email.isBlank() && email.matches(".+@.+\\..+");
+            assertEquals(oldRule, service.validateEmailFormat(email), "email: " + email);
+        }
+        assertEquals(EmailValidator.Result.BLANK, service.checkEmail(""));
+        assertEquals(EmailValidator.Result.MISSING_DOMAIN_DOT, service.checkEmail("robert@cityhall"));
+    }
+
     //Update com.cityhall.dms.Employee Test
     //Update an employee's department and check that it actually changes.
     @org.junit.jupiter.api.Test
@@ -106,6 +121,79 @@ class EmployeeServiceTest {
         assertEquals(0, service.getAllEmployees().size());
     }
 
+    //Deleting from the middle shouldn't mess up the order or the lookups for everyone else
+    @org.junit.jupiter.api.Test
+    void deleteEmployee_keepsOrderAndLookupsForOthers() {
+        for (int i = 0; i < 5; i++) {
+            Employee e = sample();
+            e.setFirstName("Emp" + i);
+            assertTrue(service.addEmployee(e));
+        }
+
+        assertTrue(service.deleteEmployee(2));
+        assertTrue(service.deleteEmployee(4));
+
+        var all = service.getAllEmployees();
+        assertEquals(3, all.size());
+        assertEquals("Emp0", all.get(0).getFirstName());
+        assertEquals("Emp2", all.get(1).getFirstName());
+        assertEquals("Emp4", all.get(2).getFirstName());
+
+        assertNull(service.getEmployeeById(2));
+        assertEquals("Emp4", service.getEmployeeById(5).getFirstName());
+        assertFalse(service.deleteEmployee(2), "Deleting the same ID twice should fail");
+    }
+
+    //A list someone got before a delete stays the same afterwards (no null where the deleted employee was)
+    @org.junit.jupiter.api.Test
+    void deleteEmployee_doesNotChangeAnEarlierList() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            Employee e = sample();
+            e.setFirstName("Emp" + i);
+            assertTrue(service.addEmployee(e));
+        }
+
+        var before = service.getAllEmployees();
+        assertTrue(service.deleteEmployee(2));
+
+        assertEquals(3, before.size());
+        assertEquals("Emp1", before.get(1).getFirstName());
+        assertEquals(2, service.getAllEmployees().size());
+        assertEquals(2, service.size());
+
+        //forEachEmployee skips the hole too
+        List<String> visited = new ArrayList<>();
+        service.forEachEmployee(e -> visited.add(e.getFirstName()));
+        assertEquals(List.of("Emp0", "Emp2"), visited);
+    }
+
+    //Search Test
+    //Search should be case-insensitive, find partial words, and follow edits made through updateEmployee()
+    @org.junit.jupiter.api.Test
+    void searchEmployees_findsSubstringsAndFollowsUpdates() {
+        Employee e1 = sample();
+        Employee e2 = sample();
+        e2.setFirstName("Carlos");
+        e2.setLastName("Rodriguez");
+        e2.setEmail("crodriguez@cityhall.com");
+        e2.setDepartment("Police");
+        assertTrue(service.addEmployee(e1));
+        assertTrue(service.addEmployee(e2));
+
+        assertEquals(1, service.searchEmployees("DRIG").size());
+        assertEquals(2, service.searchEmployees("cityhall").size());
+        assertEquals(1, service.searchEmployees("po").size()); //too short for the index, still works
+
+        Employee existing = service.getEmployeeById(e2.getId());
+        existing.setDepartment("Fire Dept");
+        assertTrue(service.updateEmployee(existing));
+        assertTrue(service.searchEmployees("police").isEmpty());
+        assertEquals(1, service.searchEmployees("fire").size());
+
+        assertTrue(service.deleteEmployee(e2.getId()));
+        assertTrue(service.searchEmployees("rodriguez").isEmpty());
+    }
+
     //Custom Action: Count by Department Test
     //The below checks that the countByDepartment() method works properly.
     @org.junit.jupiter.api.Test
@@ -140,6 +228,43 @@ class EmployeeServiceTest {
         assertEquals(2, counts.size());
     }
 
+    //The counts are kept up to date as we go, so they have to follow updates, deletes and soft deletes
+    @org.junit.jupiter.api.Test
+    void countByDepartment_followsUpdatesDeletesAndDeactivation() {
+        Employee e1 = sample();
+        e1.setDepartment("Police");
+        Employee e2 = sample();
+        e2.setEmail("second@cityhall.com");
+        e2.setDepartment(" Police ");
+        Employee e3 = sample();
+        e3.setEmail("third@cityhall.com");
+        e3.setDepartment("Finance");
+        assertTrue(service.addEmployee(e1));
+        assertTrue(service.addEmployee(e2));
+        assertTrue(service.addEmployee(e3));
+        assertEquals(Map.of("Police", 2, "Finance", 1), service.countByDepartment());
+
+        //Move the Finance employee over to Police by editing the object, the way the menu does it
+        Employee moved = service.getEmployeeById(e3.getId());
+        moved.setDepartment("Police");
+        assertTrue(service.updateEmployee(moved));
+        assertEquals(Map.of("Police", 3), service.countByDepartment());
+
+        //Inactive employees still count, just not in the active-only version
+        assertTrue(service.deactivateEmployee(e1.getId()));
+        assertEquals(Map.of("Police", 3), service.countByDepartment());
+        assertEquals(Map.of("Police", 2), service.countActiveByDepartment());
+        assertTrue(service.reactivateEmployee(e1.getId()));
+        assertEquals(Map.of("Police", 3), service.countActiveByDepartment());
+
+        assertTrue(service.deleteEmployee(e2.getId()));
+        assertEquals(Map.of("Police", 2), service.countByDepartment());
+
+        service.clearAllEmployees();
+        assertTrue(service.countByDepartment().isEmpty());
+        assertTrue(service.countActiveByDepartment().isEmpty());
+    }
+
     //Count with no employees.  The count map should be empty
     @org.junit.jupiter.api.Test
     void countByDepartment_returnsEmptyWhenNoEmployees() {
@@ -0,0 +1,128 @@
+package com.cityhall.dms;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeSnapshotTest.java
+ *
+ * This class tests the binary snapshot save/restore (com.cityhall.dms.EmployeeSnapshot).
+ * It checks that every field and ID comes back exactly (including missing values and non-English names), that
+ * deleted IDs are not handed out again after a restore, that search and department counts work on restored
+ * employees, and that a damaged file is turned down instead of loading bad data.
+ */
+
+class EmployeeSnapshotTest {
+
+    @org.junit.jupiter.api.io.TempDir
+    Path dir;
+
+    private static EmployeeService sample() {
+        EmployeeService service = new EmployeeService();
+        service.addEmployee(new Employee(null, "Veronica", "Mendez", "vmendez@cityhall.com",
+                "Information Technology", "3025", "IT-013", LocalDate.of(2020, 6, 27)));
+        service.addEmployee(new Employee(null, "José", "Núñez", "jnunez@cityhall.com",
+                "Parks & Recreation", null, null, null));
+        service.addEmployee(new Employee(null, "Carlos", "Rodriguez", "crodriguez@cityhall.com",
+                "Information Technology", "4022", "IT-013", LocalDate.of(1969, 12, 31)));
+        service.addEmployee(new Employee(null, "Lisa", "Chandler", "lchandler@cityhall.com",
+                "Finance", "1425", "FN-009", LocalDate.of(2012, 1, 30)));
+        service.deactivateEmployee(3);
+        service.deleteEmployee(4);
+        return service;
+    }
+
+    //Every field, ID and the active flag come back the same, and repeated values share one String
+    @org.junit.jupiter.api.Test
+    void saveAndLoad_keepsEveryField() throws Exception {
+        EmployeeService service = sample();
+        Path file = dir.resolve("employees.snap");
+        EmployeeSnapshot.save(file, service.getAllEmployees(), service.getNextId());
+
+        EmployeeSnapshot.Contents loaded = EmployeeSnapshot.load(file);
+        List<Employee> before = service.getAllEmployees();
+        List<Employee> after = loaded.getEmployees();
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            Employee b = before.get(i);
+            Employee a = after.get(i);
+            assertEquals(b.getId(), a.getId());
+            assertEquals(b.getFirstName(), a.getFirstName());
+            assertEquals(b.getLastName(), a.getLastName());
+            assertEquals(b.getEmail(), a.getEmail());
+            assertEquals(b.getDepartment(), a.getDepartment());
+            assertEquals(b.getPhone(), a.getPhone());
+            assertEquals(b.getOfficeLocation(), a.getOfficeLocation());
+            assertEquals(b.getHireDate(), a.getHireDate());
+            assertEquals(b.isActive(), a.isActive());
+        }
+        assertEquals(5, loaded.getNextId());
+        assertSame(after.get(0).getDepartment(), after.get(2).getDepartment());
+        assertFalse(Files.exists(dir.resolve("employees.snap.tmp")));
+    }
+
+    //Restored employees can be searched, counted and changed, and new ones don't reuse a deleted ID
+    @org.junit.jupiter.api.Test
+    void restore_worksLikeTheOriginal() throws Exception {
+        Path file = dir.resolve("employees.snap");
+        EmployeeService original = sample();
+        EmployeeSnapshot.save(file, original.getAllEmployees(), original.getNextId());
+
+        EmployeeService restored = new EmployeeService();
+        EmployeeSnapshot.Contents snapshot = EmployeeSnapshot.load(file);
+        restored.restoreEmployees(snapshot.getEmployees(), snapshot.getNextId());
+
+        assertEquals(original.countByDepartment(), restored.countByDepartment());
+        assertEquals(original.countActiveByDepartment(), restored.countActiveByDepartment());
+
+        //Changes before the first search, then the search index gets built
+        Employee update = new Employee(1, "Veronica", "Mendez-Ruiz", "vmendez@cityhall.com",
+                "Information Technology", "3025", "IT-013", LocalDate.of(2020, 6, 27));
+        assertTrue(restored.updateEmployee(update));
+        assertTrue(restored.deleteEmployee(2));
+        assertEquals(1, restored.searchEmployees("mendez-ruiz").size());
+        assertTrue(restored.searchEmployees("núñez").isEmpty());
+        assertEquals(1, restored.searchEmployees("rodriguez").size());
+
+        Employee added = new Employee(null, "Ann", "Lee", "alee@cityhall.com", "Finance", "1000", "FN-001", null);
+        assertTrue(restored.addEmployee(added));
+        assertEquals(5, added.getId());
+        assertEquals(1, restored.searchEmployees("alee@").size());
+    }
+
+    //Any changed byte is caught by the checksum, and other files aren't mistaken for snapshots
+    @org.junit.jupiter.api.Test
+    void load_rejectsDamagedFiles() throws Exception {
+        Path file = dir.resolve("employees.snap");
+        EmployeeService service = sample();
+        EmployeeSnapshot.save(file, service.getAllEmployees(), service.getNextId());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Path damaged = dir.resolve("damaged.snap");
+        Files.write(damaged, bytes);
+        IOException ex = assertThrows(IOException.class, () -> EmployeeSnapshot.load(damaged));
+        assertTrue(ex.getMessage().contains("checksum"));
+
+        Path txt = dir.resolve("employees.txt");
+        Files.writeString(txt, "Veronica,Mendez,vmendez@cityhall.com,IT,3025,IT-013,2020-06-27\n");
+        assertThrows(IOException.class, () -> EmployeeSnapshot.load(txt));
+    }
+
+    //An empty directory is a valid snapshot too
+    @org.junit.jupiter.api.Test
+    void saveAndLoad_emptyDirectory() throws Exception {
+        Path file = dir.resolve("empty.snap");
+        EmployeeSnapshot.save(file, List.of(), 1);
+        EmployeeSnapshot.Contents loaded = EmployeeSnapshot.load(file);
+        assertTrue(loaded.getEmployees().isEmpty());
+        assertEquals(1, loaded.getNextId());
+    }
+}
@@ -0,0 +1,178 @@
+package com.cityhall.dms;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Robert Yantin Jr.
+ * CEN 3024 - Software Development I
+ * October 18, 2026
+ * com.cityhall.dms.EmployeeTxtParserTest.java
+ *
+ * This class tests the shared TXT parser (com.cityhall.dms.EmployeeTxtParser).
+ * It checks that good lines turn into employees exactly like the old String.split() version did,
+ * that bad lines are collected with the right line numbers instead of being printed,
+ * and that big files split into parallel chunks (or read as a stream, or memory-mapped) give the same answer.
+ */
+
+class EmployeeTxtParserTest {
+
+    private final EmployeeTxtParser<Employee> parser = new EmployeeTxtParser<>(
+            (first, last, email, dept, phone, office, hire) ->
+                    new Employee(null, first, last, email, dept, phone, office, hire));
+
+    //A normal line with extra spaces should be trimmed, and extra columns after the hire date ignored
+    @org.junit.jupiter.api.Test
+    void parseLine_trimsFieldsLikeSplit() {
+        List<EmployeeTxtParser.LineError> errors = new ArrayList<>();
+        Employee e = parser.parseLine("  Ann , Watkins,ann.watkins@cityhall.com, Communications ,6695,CM-230, 2023-05-27 ,extra",
+                1, errors);
+
+        assertTrue(errors.isEmpty());
+        assertEquals("Ann", e.getFirstName());
+        assertEquals("Watkins", e.getLastName());
+        assertEquals("ann.watkins@cityhall.com", e.getEmail());
+        assertEquals("Communications", e.getDepartment());
+        assertEquals("6695", e.getPhone());
+        assertEquals("CM-230", e.getOfficeLocation());
+        assertEquals(LocalDate.of(2023, 5, 27), e.getHireDate());
+    }
+
+    //Bad lines come back as errors with their line numbers, blank lines are just skipped
+    @org.junit.jupiter.api.Test
+    void parse_collectsBadLinesWithLineNumbers() {
+        String text = "Ann,Watkins,a@cityhall.com,Communications,6695,CM-230,2023-05-27\r\n"
+                + "\n"
+                + "not,enough,fields\n"
+                + "Josh,Henderson,j@cityhall.com,Fire Dept,5278,FR-335,2022-13-12\n"
+                + "José,Núñez,jn@cityhall.com,Finance,1,FN-1,2024-02-29";
+        var result = parser.parse(java.nio.ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5, result.getLines());
+        assertEquals(2, result.getEmployees().size());
+        assertEquals("Núñez", result.getEmployees().get(1).getLastName());
+        assertEquals(LocalDate.of(2024, 2, 29), result.getEmployees().get(1).getHireDate());
+
+        assertEquals(2, result.getErrors().size());
+        assertEquals(3, result.getErrors().get(0).getLineNumber());
+        assertEquals(EmployeeTxtParser.NOT_ENOUGH_FIELDS, result.getErrors().get(0).getReason());
+        assertEquals(4, result.getErrors().get(1).getLineNumber());
+        assertEquals(EmployeeTxtParser.BAD_DATE, result.getErrors().get(1).getReason());
+    }
+
+    //A file big enough to be split into chunks (and the same data read as a stream or mapped in small pieces)
+    //should give the same employees in the same order, with the right line numbers for the bad lines
+    @org.junit.jupiter.api.Test
+    void parse_bigFileMatchesLineByLine() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        int lines = 60_000;
+        for (int i = 1; i <= lines; i++) {
+            if (i % 1000 == 0) {
+                sb.append("broken line ").append(i).append('\n');
+            } else {
+                sb.append("First").append(i).append(",Last,e").append(i).append("@cityhall.com,Finance,1,FN-1,2020-01-")
+                        .append(String.format("%02d", 1 + i % 28)).append('\n');
+            }
+        }
+        Path tmp = Files.createTempFile("employees-", ".txt");
+        Files.writeString(tmp, sb.toString());
+
+        var result = parser.parse(tmp);
+        assertEquals(lines, result.getLines());
+        assertEquals(lines - 60, result.getEmployees().size());
+        assertEquals(60, result.getErrors().size());
+        assertEquals(1000, result.getErrors().get(0).getLineNumber());
+        assertEquals(60_000, result.getErrors().get(59).getLineNumber());
+        assertEquals("First1001", result.getEmployees().get(999).getFirstName());
+
+        List<Employee> streamed = new ArrayList<>();
+        List<EmployeeTxtParser.LineError> streamedErrors = new ArrayList<>();
+        parser.parse(new ByteArrayInputStream(Files.readAllBytes(tmp)), 4096, block -> {
+            streamed.addAll(block.getEmployees());
+            streamedErrors.addAll(block.getErrors());
+        });
+        assertEquals(result.getEmployees().size(), streamed.size());
+        assertEquals("First59999", streamed.get(streamed.size() - 1).getFirstName());
+        assertEquals(30_000, streamedErrors.get(29).getLineNumber());
+
+        List<Employee> mapped = new ArrayList<>();
+        List<EmployeeTxtParser.LineError> mappedErrors = new ArrayList<>();
+        parser.parseMapped(tmp, 100_000, window -> {
+            mapped.addAll(window.getEmployees());
+            mappedErrors.addAll(window.getErrors());
+        });
+        assertEquals(result.getEmployees().size(), mapped.size());
+        assertEquals("First59999", mapped.get(mapped.size() - 1).getFirstName());
+        assertEquals(45_000, mappedErrors.get(44).getLineNumber());
+
+        Files.delete(tmp);
+    }
+
+    //Files with old Mac line breaks (a lone \r) have to be cut into blocks at the \r, not read whole into one
+    //growing block, and a \r\n that lands on a block edge still counts as one line break
+    @org.junit.jupiter.api.Test
+    void parseStream_cutsAtLoneCarriageReturns() throws Exception {
+        for (String lineBreak : new String[] {"\r", "\r\n"}) {
+            byte[] bytes = textWithBrokenLines(5_000, lineBreak).getBytes(StandardCharsets.UTF_8);
+            List<Employee> streamed = new ArrayList<>();
+            List<EmployeeTxtParser.LineError> errors = new ArrayList<>();
+            int[] blocks = {0};
+            parser.parse(new ByteArrayInputStream(bytes), 1024, block -> {
+                blocks[0]++;
+                streamed.addAll(block.getEmployees());
+                errors.addAll(block.getErrors());
+            });
+
+            assertTrue(blocks[0] > 100, "Only " + blocks[0] + " blocks");
+            assertEquals(4_950, streamed.size());
+            assertEquals("First4999", streamed.get(streamed.size() - 1).getFirstName());
+            assertEquals(50, errors.size());
+            assertEquals(5_000, errors.get(49).getLineNumber());
+        }
+    }
+
+    //Same for memory-mapped files: a CR-only file is cut into windows at the \r instead of failing with
+    //"Line longer than ..." (the TXT loader maps every file of 64 MB or more)
+    @org.junit.jupiter.api.Test
+    void parseMapped_cutsAtLoneCarriageReturns() throws Exception {
+        for (String lineBreak : new String[] {"\r", "\r\n"}) {
+            Path tmp = Files.createTempFile("employees-", ".txt");
+            Files.writeString(tmp, textWithBrokenLines(5_000, lineBreak));
+            List<Employee> mapped = new ArrayList<>();
+            List<EmployeeTxtParser.LineError> errors = new ArrayList<>();
+            int[] windows = {0};
+            parser.parseMapped(tmp, 1024, window -> {
+                windows[0]++;
+                mapped.addAll(window.getEmployees());
+                errors.addAll(window.getErrors());
+            });
+            Files.delete(tmp);
+
+            assertTrue(windows[0] > 100, "Only " + windows[0] + " windows");
+            assertEquals(4_950, mapped.size());
+            assertEquals("First4999", mapped.get(mapped.size() - 1).getFirstName());
+            assertEquals(50, errors.size());
+            assertEquals(5_000, errors.get(49).getLineNumber());
+        }
+    }
+
+    //Every line is First<n> except every 100th, which is broken
+    private static String textWithBrokenLines(int lines, String lineBreak) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            if (i % 100 == 0) {
+                sb.append("broken line ").append(i);
+            } else {
+                sb.append("First").append(i).append(",Last,e").append(i).append("@cityhall.com,Finance,1,FN-1,2020-01-02");
+            }
+            sb.append(lineBreak);
+        }
+        return sb.toString();
+    }
+}